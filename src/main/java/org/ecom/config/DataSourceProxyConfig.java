@@ -0,0 +1,38 @@
+package org.ecom.config;
+
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Wraps the pooled DataSource in a datasource-proxy that feeds {@link SqlStatementListener}, in
+ * place of Hibernate's show-sql. The pool stays underneath, so Hikari metrics still find it.
+ */
+@Configuration
+public class DataSourceProxyConfig {
+
+    // Static: post-processors are created before the rest of the configuration
+    @Bean
+    public static BeanPostProcessor dataSourceProxyPostProcessor(
+            @Value("${sql.slow-query.threshold:200ms}") Duration slowQueryThreshold,
+            @Value("${sql.slow-query.log-parameters:false}") boolean logParameters) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof ProxyDataSource)) {
+                    return ProxyDataSourceBuilder.create(dataSource)
+                            .name(beanName)
+                            .listener(new SqlStatementListener(slowQueryThreshold, logParameters))
+                            .build();
+                }
+                return bean;
+            }
+        };
+    }
+}
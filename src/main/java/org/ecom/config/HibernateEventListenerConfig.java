@@ -0,0 +1,25 @@
+package org.ecom.config;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.ecom.service.auth.UserCacheInvalidationListener;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Hooks Spring-managed listeners into Hibernate's entity events, so entities need not refer to
+ * the services that react to their changes.
+ */
+@Configuration
+public class HibernateEventListenerConfig {
+
+    public HibernateEventListenerConfig(EntityManagerFactory entityManagerFactory,
+                                        UserCacheInvalidationListener userCacheInvalidationListener) {
+        EventListenerRegistry listeners = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry()
+                .getService(EventListenerRegistry.class);
+        listeners.appendListeners(EventType.POST_UPDATE, userCacheInvalidationListener);
+        listeners.appendListeners(EventType.POST_DELETE, userCacheInvalidationListener);
+    }
+}
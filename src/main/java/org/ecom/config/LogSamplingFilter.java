@@ -0,0 +1,43 @@
+package org.ecom.config;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import org.slf4j.Marker;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Logback turbo filter keeping about one in {@code oneIn} events at or below {@code maxLevel} from
+ * loggers under {@code loggerName}; higher levels always pass. It runs before an event is built, so
+ * a dropped event costs a name check and a random draw. Configured in logback-spring.xml.
+ */
+public class LogSamplingFilter extends TurboFilter {
+
+    private String loggerName = "";
+    private Level maxLevel = Level.INFO;
+    private int oneIn = 1;
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params, Throwable t) {
+        // A null format is an isXxxEnabled() check (also made by the fluent API before logging):
+        // answer it normally and sample only the event itself, so it is not sampled twice
+        if (format == null || oneIn <= 1 || level.toInt() > maxLevel.toInt() || !logger.getName().startsWith(loggerName)) {
+            return FilterReply.NEUTRAL;
+        }
+        return ThreadLocalRandom.current().nextInt(oneIn) == 0 ? FilterReply.NEUTRAL : FilterReply.DENY;
+    }
+
+    public void setLoggerName(String loggerName) {
+        this.loggerName = loggerName;
+    }
+
+    public void setMaxLevel(String maxLevel) {
+        this.maxLevel = Level.toLevel(maxLevel, Level.INFO);
+    }
+
+    public void setOneIn(int oneIn) {
+        this.oneIn = oneIn;
+    }
+}
@@ -0,0 +1,12 @@
+package org.ecom.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Background jobs (outbox dispatch) run on Spring's scheduler, sized by spring.task.scheduling.pool.size.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -1,15 +1,18 @@
 package org.ecom.config;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import org.ecom.security.BoundedPasswordEncoder;
 import org.ecom.security.JwtFilter;
 import org.ecom.security.JwtService;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 import org.springframework.security.core.userdetails.UserDetailsService;
@@ -19,10 +22,13 @@ public class SecurityConfig {
 
     private final JwtService jwtService;
     private final UserDetailsService userDetailsService;
+    private final boolean statelessAuth;
 
-    public SecurityConfig(JwtService jwtService, UserDetailsService userDetailsService) {
+    public SecurityConfig(JwtService jwtService, UserDetailsService userDetailsService,
+                          @Value("${jwt.stateless-auth:false}") boolean statelessAuth) {
         this.jwtService = jwtService;
         this.userDetailsService = userDetailsService;
+        this.statelessAuth = statelessAuth;
     }
 
     @Bean
@@ -37,6 +43,14 @@ public class SecurityConfig {
                                 "/swagger-ui/**",
                                 "/v3/api-docs/**"
                         ).permitAll()
+                        // Public catalog reads; catalog writes are admin-only
+                        .requestMatchers(HttpMethod.GET, "/api/products/**").permitAll()
+                        .requestMatchers("/api/products/**").hasRole("ADMIN")
+                        // Admin endpoints
+                        .requestMatchers("/api/admin/**").hasRole("ADMIN")
+                        // Liveness for load balancers; metrics and the other actuator endpoints are admin-only
+                        .requestMatchers("/actuator/health", "/actuator/health/**").permitAll()
+                        .requestMatchers("/actuator/**").hasRole("ADMIN")
                         // Authenticated endpoints
                         .requestMatchers("/api/auth/delete/**").authenticated()
                         // All other requests require authentication
@@ -50,12 +64,18 @@ public class SecurityConfig {
 
     @Bean
     public JwtFilter jwtFilter() {
-        return new JwtFilter(jwtService, userDetailsService);
+        return new JwtFilter(jwtService, userDetailsService, statelessAuth);
     }
 
+    /**
+     * BCrypt on a bounded pool of its own; {@code auth.hashing.threads} of 0 means half the CPUs.
+     */
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public BoundedPasswordEncoder passwordEncoder(@Value("${auth.hashing.threads:0}") int threads,
+                                                 @Value("${auth.hashing.queue-capacity:64}") int queueCapacity,
+                                                 MeterRegistry meterRegistry) {
+        int poolSize = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        return new BoundedPasswordEncoder(new BCryptPasswordEncoder(), poolSize, queueCapacity, meterRegistry);
     }
 
     @Bean
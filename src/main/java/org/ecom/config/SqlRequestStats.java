@@ -0,0 +1,46 @@
+package org.ecom.config;
+
+/**
+ * SQL statements executed and time spent in the database by the current request thread, filled in
+ * by {@link SqlStatementListener} while {@link SqlRequestStatsFilter} has a request open.
+ * Work handed to other threads (async responses, the outbox dispatcher) is not attributed.
+ */
+public final class SqlRequestStats {
+
+    private static final ThreadLocal<SqlRequestStats> CURRENT = new ThreadLocal<>();
+
+    private int statements;
+    private long nanos;
+
+    private SqlRequestStats() {
+    }
+
+    /**
+     * Starts accounting on this thread and returns the (live) stats object.
+     */
+    public static SqlRequestStats start() {
+        SqlRequestStats stats = new SqlRequestStats();
+        CURRENT.set(stats);
+        return stats;
+    }
+
+    public static void end() {
+        CURRENT.remove();
+    }
+
+    static void record(long elapsedNanos) {
+        SqlRequestStats stats = CURRENT.get();
+        if (stats != null) {
+            stats.statements++;
+            stats.nanos += elapsedNanos;
+        }
+    }
+
+    public int getStatements() {
+        return statements;
+    }
+
+    public long getNanos() {
+        return nanos;
+    }
+}
@@ -0,0 +1,64 @@
+package org.ecom.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Counts the SQL statements and database time of each request. The totals are published as the
+ * {@code sql.request.statements} and {@code sql.request.time} meters (by method and URI pattern)
+ * and set as the {@code sql.count} and {@code sql.time.ms} request attributes for the access log.
+ * Runs ahead of Spring Security, so token-based user lookups are included.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+public class SqlRequestStatsFilter extends OncePerRequestFilter {
+
+    public static final String COUNT_ATTRIBUTE = "sql.count";
+    public static final String TIME_ATTRIBUTE = "sql.time.ms";
+
+    private final MeterRegistry meterRegistry;
+
+    public SqlRequestStatsFilter(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        SqlRequestStats stats = SqlRequestStats.start();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            SqlRequestStats.end();
+            request.setAttribute(COUNT_ATTRIBUTE, stats.getStatements());
+            request.setAttribute(TIME_ATTRIBUTE, TimeUnit.NANOSECONDS.toMillis(stats.getNanos()));
+
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            Tags tags = Tags.of("method", request.getMethod(), "uri", pattern != null ? pattern.toString() : "UNKNOWN");
+            DistributionSummary.builder("sql.request.statements")
+                    .description("SQL statements executed per HTTP request")
+                    .tags(tags)
+                    .register(meterRegistry)
+                    .record(stats.getStatements());
+            Timer.builder("sql.request.time")
+                    .description("Database time per HTTP request")
+                    .tags(tags)
+                    .register(meterRegistry)
+                    .record(stats.getNanos(), TimeUnit.NANOSECONDS);
+        }
+    }
+}
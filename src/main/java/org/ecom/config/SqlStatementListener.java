@@ -0,0 +1,105 @@
+package org.ecom.config;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Times every statement executed through the proxied DataSource. The time is added to the current
+ * request's {@link SqlRequestStats}; statements slower than the threshold are logged at WARN with
+ * their bind parameters and the application frame that issued them. Fast statements cost two
+ * {@code nanoTime} calls and nothing is formatted for them.
+ */
+public class SqlStatementListener implements QueryExecutionListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(SqlStatementListener.class);
+
+    private static final String STARTED = SqlStatementListener.class.getName() + ".started";
+    private static final int MAX_LOGGED_BATCH_ENTRIES = 3;
+    private static final int MAX_VALUE_LENGTH = 100;
+
+    private final long thresholdNanos;
+    private final boolean logParameters;
+
+    public SqlStatementListener(Duration slowQueryThreshold, boolean logParameters) {
+        this.thresholdNanos = slowQueryThreshold.toNanos();
+        this.logParameters = logParameters;
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        execInfo.addCustomValue(STARTED, System.nanoTime());
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        Long started = execInfo.getCustomValue(STARTED, Long.class);
+        if (started == null) {
+            return;
+        }
+        long elapsed = System.nanoTime() - started;
+        SqlRequestStats.record(elapsed);
+        if (elapsed >= thresholdNanos && logger.isWarnEnabled()) {
+            logger.warn("Slow SQL ({} ms) from {}: {}", TimeUnit.NANOSECONDS.toMillis(elapsed), callSite(),
+                    describe(queryInfoList, execInfo.isBatch() ? execInfo.getBatchSize() : 0));
+        }
+    }
+
+    private String describe(List<QueryInfo> queries, int batchSize) {
+        StringBuilder text = new StringBuilder();
+        for (QueryInfo query : queries) {
+            if (text.length() > 0) {
+                text.append("; ");
+            }
+            text.append(query.getQuery().strip());
+            if (batchSize > 0) {
+                text.append(" [batch of ").append(batchSize).append(']');
+            }
+            if (logParameters) {
+                List<List<ParameterSetOperation>> parameterSets = query.getParametersList();
+                for (int i = 0; i < parameterSets.size() && i < MAX_LOGGED_BATCH_ENTRIES; i++) {
+                    text.append(" params").append(parameters(parameterSets.get(i)));
+                }
+                if (parameterSets.size() > MAX_LOGGED_BATCH_ENTRIES) {
+                    text.append(" ...");
+                }
+            }
+        }
+        return text.toString();
+    }
+
+    private static String parameters(List<ParameterSetOperation> operations) {
+        StringBuilder text = new StringBuilder("[");
+        for (ParameterSetOperation operation : operations) {
+            Object[] args = operation.getArgs();
+            if (text.length() > 1) {
+                text.append(", ");
+            }
+            text.append(args[0]).append('=');
+            String value = args.length > 1 ? String.valueOf(args[1]) : "";
+            text.append(value.length() > MAX_VALUE_LENGTH ? value.substring(0, MAX_VALUE_LENGTH) + "..." : value);
+        }
+        return text.append(']').toString();
+    }
+
+    /**
+     * First application frame below the data access layers, e.g. {@code OrderService.placeOrder:82}.
+     */
+    private static String callSite() {
+        return StackWalker.getInstance().walk(frames -> frames
+                .filter(frame -> frame.getClassName().startsWith("org.ecom.")
+                        && !frame.getClassName().startsWith("org.ecom.config.")
+                        && !frame.getClassName().contains("$$"))
+                .findFirst()
+                .map(frame -> frame.getClassName().substring(frame.getClassName().lastIndexOf('.') + 1)
+                        + "." + frame.getMethodName() + ":" + frame.getLineNumber())
+                .orElse("unknown"));
+    }
+}
@@ -0,0 +1,134 @@
+package org.ecom.controller.admin;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.ecom.model.admin.CacheStatsResponse;
+import org.ecom.model.admin.PasswordHashingStats;
+import org.ecom.model.admin.SecondLevelCacheStats;
+import org.ecom.model.product.ProductImportReport;
+import org.ecom.security.BoundedPasswordEncoder;
+import org.ecom.service.auth.UserCache;
+import org.ecom.service.order.OrderExportFormat;
+import org.ecom.service.order.OrderExportService;
+import org.ecom.service.product.ProductImportFormat;
+import org.ecom.service.product.ProductImportService;
+import org.ecom.service.product.ProductSecondLevelCache;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.zip.GZIPOutputStream;
+
+@RestController
+@RequestMapping("/api/admin")
+public class AdminController {
+
+    private final UserCache userCache;
+    private final ProductImportService productImportService;
+    private final OrderExportService orderExportService;
+    private final BoundedPasswordEncoder passwordEncoder;
+    private final ProductSecondLevelCache productCache;
+
+    public AdminController(UserCache userCache, ProductImportService productImportService,
+                           OrderExportService orderExportService, BoundedPasswordEncoder passwordEncoder,
+                           ProductSecondLevelCache productCache) {
+        this.userCache = userCache;
+        this.productImportService = productImportService;
+        this.orderExportService = orderExportService;
+        this.passwordEncoder = passwordEncoder;
+        this.productCache = productCache;
+    }
+
+    @GetMapping("/cache/users")
+    public ResponseEntity<CacheStatsResponse> userCacheStats() {
+        return ResponseEntity.ok(CacheStatsResponse.of(userCache.size(), userCache.stats()));
+    }
+
+    @DeleteMapping("/cache/users")
+    public ResponseEntity<Void> clearUserCache() {
+        userCache.clear();
+        return ResponseEntity.noContent().build();
+    }
+
+    /**
+     * ✅ Entries and hit/miss/put counters of the products second-level cache region.
+     */
+    @GetMapping("/cache/products")
+    public ResponseEntity<SecondLevelCacheStats> productCacheStats() {
+        return ResponseEntity.ok(productCache.stats());
+    }
+
+    @DeleteMapping("/cache/products")
+    public ResponseEntity<Void> clearProductCache() {
+        productCache.evictAll();
+        return ResponseEntity.noContent().build();
+    }
+
+    /**
+     * ✅ Queue depth, rejections and latency of the password hashing pool.
+     */
+    @GetMapping("/password-hashing")
+    public ResponseEntity<PasswordHashingStats> passwordHashingStats() {
+        return ResponseEntity.ok(passwordEncoder.stats());
+    }
+
+    /**
+     * ✅ Bulk upsert of a CSV or NDJSON feed streamed from the request body.
+     * Pass the report's checkpointLine as resumeAfterLine to continue a failed import.
+     */
+    @PostMapping("/products/import")
+    public ResponseEntity<ProductImportReport> importProducts(@RequestParam(required = false) String format,
+                                                              @RequestParam(defaultValue = "0") long resumeAfterLine,
+                                                              HttpServletRequest request) throws IOException {
+        ProductImportFormat importFormat = ProductImportFormat.resolve(format, request.getContentType());
+        try (Reader body = new InputStreamReader(request.getInputStream(), StandardCharsets.UTF_8)) {
+            ProductImportReport report = productImportService.importProducts(body, importFormat, resumeAfterLine, line -> { });
+            return report.isCompleted()
+                    ? ResponseEntity.ok(report)
+                    : ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(report);
+        }
+    }
+
+    /**
+     * ✅ Orders placed between {@code from} (inclusive) and {@code to} (exclusive), streamed as they are read.
+     * Compressed with gzip when the client accepts it.
+     */
+    @GetMapping("/orders/export")
+    public ResponseEntity<StreamingResponseBody> exportOrders(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "ndjson") String format,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        OrderExportFormat exportFormat = OrderExportFormat.of(format);
+        if (!from.isBefore(to)) {
+            throw new IllegalArgumentException("from must be before to");
+        }
+        boolean gzip = acceptEncoding != null && acceptEncoding.contains("gzip");
+        StreamingResponseBody body = out -> {
+            OutputStream target = gzip ? new GZIPOutputStream(out, 1 << 16) : out;
+            orderExportService.export(from.atStartOfDay(), to.atStartOfDay(), exportFormat, target);
+            if (target instanceof GZIPOutputStream compressed) {
+                compressed.finish();
+            }
+        };
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(exportFormat.getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"orders-" + from + "-" + to
+                        + "." + exportFormat.getExtension() + "\"")
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return response.body(body);
+    }
+}
@@ -2,41 +2,77 @@ package org.ecom.controller.order;
 
 
 import org.ecom.entity.order.Order;
+import org.ecom.model.order.BatchOrderRequest;
+import org.ecom.model.order.BatchOrderResponse;
+import org.ecom.model.order.OrderPage;
 import org.ecom.model.order.OrderRequest;
+import org.ecom.model.order.OrderResponse;
+import org.ecom.model.order.OrderSummary;
+import org.ecom.service.order.IdempotentOrderService;
 import org.ecom.service.order.OrderService;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
-
 @RestController
 @RequestMapping("/api/orders")
 public class OrderController {
 
     private final OrderService orderService;
+    private final IdempotentOrderService idempotentOrderService;
 
-    public OrderController(OrderService orderService) {
+    public OrderController(OrderService orderService, IdempotentOrderService idempotentOrderService) {
         this.orderService = orderService;
+        this.idempotentOrderService = idempotentOrderService;
     }
 
+    /**
+     * ✅ Places an order. With an {@code Idempotency-Key} header, retries of the same request
+     * return the first response instead of placing another order.
+     */
     @PostMapping("/place")
-    public ResponseEntity<Order> placeOrder(@RequestBody OrderRequest request) {
+    public ResponseEntity<OrderResponse> placeOrder(@RequestBody OrderRequest request,
+                                                    @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey) {
+        if (idempotencyKey != null && !idempotencyKey.isBlank()) {
+            return ResponseEntity.ok(idempotentOrderService.placeOrder(idempotencyKey, request));
+        }
         Order order = orderService.placeOrder(request);
-        return ResponseEntity.ok(order);
+        return ResponseEntity.ok(OrderResponse.from(order));
+    }
+
+    /**
+     * ✅ Places many orders in one call; each order succeeds or is rejected on its own.
+     */
+    @PostMapping("/place/batch")
+    public ResponseEntity<BatchOrderResponse> placeOrders(@RequestBody BatchOrderRequest request) {
+        return ResponseEntity.ok(orderService.placeOrders(request.getOrders()));
     }
 
+    /**
+     * ✅ Order history of the logged-in user, newest first, one page at a time.
+     * Pass the returned {@code nextCursor} as {@code cursor} to get the next page.
+     */
     @GetMapping
-    public ResponseEntity<List<Order>> getUserOrders() {
-        List<Order> orders = orderService.getUserOrders();
+    public ResponseEntity<OrderPage<OrderSummary>> getUserOrders(@RequestParam(required = false) String cursor,
+                                                                 @RequestParam(required = false) Integer size) {
+        OrderPage<OrderSummary> orders = orderService.getUserOrders(cursor, size);
         return ResponseEntity.ok(orders);
     }
 
+    /**
+     * ✅ Same page of the order history, with the items of every order ({@code ?expand=items}).
+     */
+    @GetMapping(params = "expand=items")
+    public ResponseEntity<OrderPage<OrderResponse>> getUserOrdersWithItems(@RequestParam(required = false) String cursor,
+                                                                           @RequestParam(required = false) Integer size) {
+        return ResponseEntity.ok(orderService.getUserOrdersWithItems(cursor, size));
+    }
+
     /**
      * ✅ Fetch a specific order by ID for the logged-in user.
      */
     @GetMapping("/{orderId}")
-    public ResponseEntity<Order> getOrderById(@PathVariable Long orderId) {
-        Order order = orderService.getOrderById(orderId);
+    public ResponseEntity<OrderResponse> getOrderById(@PathVariable Long orderId) {
+        OrderResponse order = orderService.getOrderById(orderId);
         return ResponseEntity.ok(order);
     }
 }
@@ -0,0 +1,127 @@
+package org.ecom.controller.product;
+
+import org.ecom.model.product.ProductDto;
+import org.ecom.model.product.ProductFacetResponse;
+import org.ecom.model.product.ProductSearchHit;
+import org.ecom.service.product.CatalogSnapshot;
+import org.ecom.service.product.ProductCatalog;
+import org.ecom.service.product.ProductFacetIndex;
+import org.ecom.service.product.ProductSearchIndex;
+import org.ecom.service.product.ProductService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/products")
+public class ProductController {
+
+    private static final int MAX_PAGE_SIZE = 200;
+
+    private final ProductCatalog productCatalog;
+    private final ProductService productService;
+    private final ProductSearchIndex searchIndex;
+
+    public ProductController(ProductCatalog productCatalog, ProductService productService,
+                             ProductSearchIndex searchIndex) {
+        this.productCatalog = productCatalog;
+        this.productService = productService;
+        this.searchIndex = searchIndex;
+    }
+
+    /**
+     * ✅ Catalog page served from the in-memory snapshot, ordered by id.
+     */
+    @GetMapping
+    public ResponseEntity<List<ProductDto>> getProducts(@RequestParam(defaultValue = "0") int page,
+                                                        @RequestParam(defaultValue = "50") int size) {
+        CatalogSnapshot snapshot = productCatalog.snapshot();
+        return ResponseEntity.ok()
+                .header("X-Catalog-Version", String.valueOf(snapshot.getVersion()))
+                .body(slice(snapshot.getProducts(), page, size));
+    }
+
+    /**
+     * ✅ Full-text search; the last word of {@code q} is matched as a prefix for typeahead.
+     */
+    @GetMapping("/search")
+    public ResponseEntity<List<ProductSearchHit>> search(@RequestParam String q,
+                                                         @RequestParam(required = false) String category,
+                                                         @RequestParam(required = false) Double minPrice,
+                                                         @RequestParam(required = false) Double maxPrice,
+                                                         @RequestParam(defaultValue = "20") int limit) {
+        return ResponseEntity.ok(searchIndex.search(q, category, minPrice, maxPrice, limit));
+    }
+
+    /**
+     * ✅ Price/stock/category filtering with per-category counts, evaluated on the columnar index.
+     */
+    @GetMapping("/facets")
+    public ResponseEntity<ProductFacetResponse> facets(@RequestParam(required = false) Double minPrice,
+                                                       @RequestParam(required = false) Double maxPrice,
+                                                       @RequestParam(defaultValue = "false") boolean inStock,
+                                                       @RequestParam(required = false) List<String> category,
+                                                       @RequestParam(defaultValue = "0") int page,
+                                                       @RequestParam(defaultValue = "50") int size) {
+        if (page < 0 || size <= 0) {
+            throw new IllegalArgumentException("page must be >= 0 and size > 0");
+        }
+        CatalogSnapshot snapshot = productCatalog.snapshot();
+        ProductFacetIndex.Result result = snapshot.getFacets().filter(minPrice, maxPrice, inStock, category);
+        int pageSize = Math.min(size, MAX_PAGE_SIZE);
+        long offset = (long) page * pageSize;
+        List<ProductDto> products = new ArrayList<>(pageSize);
+        if (offset < result.getTotal()) {
+            for (int row : result.rows((int) offset, pageSize)) {
+                products.add(snapshot.getProducts().get(row));
+            }
+        }
+        return ResponseEntity.ok()
+                .header("X-Catalog-Version", String.valueOf(snapshot.getVersion()))
+                .body(new ProductFacetResponse(result.getTotal(), result.getCategoryCounts(), products));
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<ProductDto> getProduct(@PathVariable Long id) {
+        ProductDto product = productCatalog.snapshot().getProduct(id);
+        return product != null ? ResponseEntity.ok(product) : ResponseEntity.notFound().build();
+    }
+
+    @GetMapping("/category/{category}")
+    public ResponseEntity<List<ProductDto>> getByCategory(@PathVariable String category,
+                                                          @RequestParam(defaultValue = "0") int page,
+                                                          @RequestParam(defaultValue = "50") int size) {
+        return ResponseEntity.ok(slice(productCatalog.snapshot().getByCategory(category), page, size));
+    }
+
+    // Admin writes; each one invalidates the catalog snapshot
+    @PostMapping
+    public ResponseEntity<ProductDto> createProduct(@RequestBody ProductDto request) {
+        return ResponseEntity.ok(productService.create(request));
+    }
+
+    @PutMapping("/{id}")
+    public ResponseEntity<ProductDto> updateProduct(@PathVariable Long id, @RequestBody ProductDto request) {
+        return ResponseEntity.ok(productService.update(id, request));
+    }
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> deleteProduct(@PathVariable Long id) {
+        productService.delete(id);
+        return ResponseEntity.noContent().build();
+    }
+
+    private static List<ProductDto> slice(List<ProductDto> products, int page, int size) {
+        if (page < 0 || size <= 0) {
+            throw new IllegalArgumentException("page must be >= 0 and size > 0");
+        }
+        int pageSize = Math.min(size, MAX_PAGE_SIZE);
+        long from = (long) page * pageSize;
+        if (from >= products.size()) {
+            return List.of();
+        }
+        return products.subList((int) from, (int) Math.min(from + pageSize, products.size()));
+    }
+}
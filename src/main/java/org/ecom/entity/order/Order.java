@@ -2,18 +2,26 @@ package org.ecom.entity.order;
 
 import jakarta.persistence.*;
 import org.ecom.entity.auth.User;
+import org.hibernate.annotations.BatchSize;
 
 import java.time.LocalDateTime;
 import java.util.List;
 
 @Entity
-@Table(name = "orders")
+@Table(name = "orders", indexes = {
+        // Keyset pagination of the order history: WHERE user_id = ? ORDER BY order_date DESC, id DESC
+        @Index(name = "idx_orders_user_date_id", columnList = "user_id, order_date, id"),
+        // Date-range export: WHERE order_date >= ? AND order_date < ? ORDER BY order_date, id
+        @Index(name = "idx_orders_date_id", columnList = "order_date, id")
+})
 public class Order {
+    // Pooled sequence instead of IDENTITY so inserts can be batched; ids are handed out 50 at a time
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "order_seq")
+    @SequenceGenerator(name = "order_seq", sequenceName = "orders_seq", allocationSize = 50)
     private Long id;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false)
     private User user;
 
@@ -22,6 +30,7 @@ public class Order {
     private LocalDateTime orderDate = LocalDateTime.now();
 
     @OneToMany(mappedBy = "order", cascade = CascadeType.ALL)
+    @BatchSize(size = 50)
     private List<OrderItem> items;
 
     // Getters and setters
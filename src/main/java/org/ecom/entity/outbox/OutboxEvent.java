@@ -0,0 +1,99 @@
+package org.ecom.entity.outbox;
+
+import jakarta.persistence.*;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * Work to be done after a transaction commits, written in that same transaction and picked up
+ * later by {@link org.ecom.service.outbox.OutboxDispatcher}.
+ */
+@Entity
+@Table(name = "outbox_events", indexes = {
+        // Dispatcher poll: WHERE status = 'PENDING' AND next_attempt_at <= ? ORDER BY id
+        @Index(name = "idx_outbox_status_next_attempt", columnList = "status, next_attempt_at, id")
+})
+public class OutboxEvent {
+
+    public enum Status { PENDING, PROCESSED, FAILED }
+
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    // Pooled sequence, so events are inserted in the same JDBC batches as the orders they belong to
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "outbox_seq")
+    @SequenceGenerator(name = "outbox_seq", sequenceName = "outbox_events_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(nullable = false, length = 64)
+    private String type;
+
+    private Long aggregateId;
+
+    // Order events carry every order line, so the payload has no fixed upper size
+    @Lob
+    @Column(nullable = false)
+    private String payload;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private Status status = Status.PENDING;
+
+    private int attempts;
+
+    @Column(nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    private LocalDateTime processedAt;
+
+    @Column(length = MAX_ERROR_LENGTH)
+    private String lastError;
+
+    public OutboxEvent() {
+    }
+
+    public OutboxEvent(String type, Long aggregateId, String payload, LocalDateTime now) {
+        this.type = type;
+        this.aggregateId = aggregateId;
+        this.payload = payload;
+        this.createdAt = now;
+        this.nextAttemptAt = now;
+    }
+
+    public void markProcessed(LocalDateTime now) {
+        status = Status.PROCESSED;
+        processedAt = now;
+        lastError = null;
+    }
+
+    /**
+     * Records a failed attempt and schedules the next one, or gives up after {@code maxAttempts}.
+     */
+    public void markFailed(String error, LocalDateTime now, Duration retryDelay, int maxAttempts) {
+        attempts++;
+        lastError = error != null && error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error;
+        if (attempts >= maxAttempts) {
+            status = Status.FAILED;
+        } else {
+            nextAttemptAt = now.plus(retryDelay);
+        }
+    }
+
+    // Getters and setters
+    public Long getId() { return id; }
+    public String getType() { return type; }
+    public Long getAggregateId() { return aggregateId; }
+    public String getPayload() { return payload; }
+    public Status getStatus() { return status; }
+    public void setStatus(Status status) { this.status = status; }
+    public int getAttempts() { return attempts; }
+    public LocalDateTime getNextAttemptAt() { return nextAttemptAt; }
+    public void setNextAttemptAt(LocalDateTime nextAttemptAt) { this.nextAttemptAt = nextAttemptAt; }
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public LocalDateTime getProcessedAt() { return processedAt; }
+    public String getLastError() { return lastError; }
+}
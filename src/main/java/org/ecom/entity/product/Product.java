@@ -1,15 +1,26 @@
 package org.ecom.entity.product;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 @Entity
 @Table(name = "products")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = Product.CACHE_REGION)
 public class Product {
 
+    // Second-level cache region; stock and price writes that bypass the entity evict from it
+    public static final String CACHE_REGION = "products";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
+    // Natural key of the supplier feed; bulk imports upsert on it
+    @Column(unique = true, length = 64)
+    private String sku;
+
     @Column(nullable = false)
     private String name;
 
@@ -47,6 +58,14 @@ public class Product {
         this.id = id;
     }
 
+    public String getSku() {
+        return sku;
+    }
+
+    public void setSku(String sku) {
+        this.sku = sku;
+    }
+
     public String getName() {
         return name;
     }
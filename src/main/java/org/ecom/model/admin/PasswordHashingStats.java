@@ -0,0 +1,102 @@
+package org.ecom.model.admin;
+
+public class PasswordHashingStats {
+
+    private int threads;
+    private int active;
+    private int queued;
+    private int queueCapacity;
+    private long completed;
+    private long rejected;
+    private double averageWaitMs;
+    private double averageHashMs;
+    private double maxHashMs;
+
+    public PasswordHashingStats() {
+    }
+
+    public PasswordHashingStats(int threads, int active, int queued, int queueCapacity, long completed, long rejected,
+                                double averageWaitMs, double averageHashMs, double maxHashMs) {
+        this.threads = threads;
+        this.active = active;
+        this.queued = queued;
+        this.queueCapacity = queueCapacity;
+        this.completed = completed;
+        this.rejected = rejected;
+        this.averageWaitMs = averageWaitMs;
+        this.averageHashMs = averageHashMs;
+        this.maxHashMs = maxHashMs;
+    }
+
+    public int getThreads() {
+        return threads;
+    }
+
+    public void setThreads(int threads) {
+        this.threads = threads;
+    }
+
+    public int getActive() {
+        return active;
+    }
+
+    public void setActive(int active) {
+        this.active = active;
+    }
+
+    public int getQueued() {
+        return queued;
+    }
+
+    public void setQueued(int queued) {
+        this.queued = queued;
+    }
+
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    public void setQueueCapacity(int queueCapacity) {
+        this.queueCapacity = queueCapacity;
+    }
+
+    public long getCompleted() {
+        return completed;
+    }
+
+    public void setCompleted(long completed) {
+        this.completed = completed;
+    }
+
+    public long getRejected() {
+        return rejected;
+    }
+
+    public void setRejected(long rejected) {
+        this.rejected = rejected;
+    }
+
+    public double getAverageWaitMs() {
+        return averageWaitMs;
+    }
+
+    public void setAverageWaitMs(double averageWaitMs) {
+        this.averageWaitMs = averageWaitMs;
+    }
+
+    public double getAverageHashMs() {
+        return averageHashMs;
+    }
+
+    public void setAverageHashMs(double averageHashMs) {
+        this.averageHashMs = averageHashMs;
+    }
+
+    public double getMaxHashMs() {
+        return maxHashMs;
+    }
+
+    public void setMaxHashMs(double maxHashMs) {
+        this.maxHashMs = maxHashMs;
+    }
+}
@@ -0,0 +1,72 @@
+package org.ecom.model.admin;
+
+public class SecondLevelCacheStats {
+
+    private String region;
+    private long size;
+    private long hitCount;
+    private long missCount;
+    private long putCount;
+    private double hitRate;
+
+    public SecondLevelCacheStats() {
+    }
+
+    public SecondLevelCacheStats(String region, long size, long hitCount, long missCount, long putCount) {
+        this.region = region;
+        this.size = size;
+        this.hitCount = hitCount;
+        this.missCount = missCount;
+        this.putCount = putCount;
+        long requests = hitCount + missCount;
+        this.hitRate = requests == 0 ? 1.0 : (double) hitCount / requests;
+    }
+
+    public String getRegion() {
+        return region;
+    }
+
+    public void setRegion(String region) {
+        this.region = region;
+    }
+
+    public long getSize() {
+        return size;
+    }
+
+    public void setSize(long size) {
+        this.size = size;
+    }
+
+    public long getHitCount() {
+        return hitCount;
+    }
+
+    public void setHitCount(long hitCount) {
+        this.hitCount = hitCount;
+    }
+
+    public long getMissCount() {
+        return missCount;
+    }
+
+    public void setMissCount(long missCount) {
+        this.missCount = missCount;
+    }
+
+    public long getPutCount() {
+        return putCount;
+    }
+
+    public void setPutCount(long putCount) {
+        this.putCount = putCount;
+    }
+
+    public double getHitRate() {
+        return hitRate;
+    }
+
+    public void setHitRate(double hitRate) {
+        this.hitRate = hitRate;
+    }
+}
@@ -0,0 +1,10 @@
+package org.ecom.model.order;
+
+import java.util.List;
+
+public class BatchOrderRequest {
+    private List<OrderRequest> orders;
+
+    public List<OrderRequest> getOrders() { return orders; }
+    public void setOrders(List<OrderRequest> orders) { this.orders = orders; }
+}
@@ -0,0 +1,58 @@
+package org.ecom.model.order;
+
+import java.util.List;
+
+/**
+ * Outcome of a batch placement: one result per submitted order, in submission order.
+ */
+public class BatchOrderResponse {
+
+    private final List<Result> results;
+    private final int placed;
+    private final int rejected;
+
+    public BatchOrderResponse(List<Result> results) {
+        this.results = results;
+        int placedCount = 0;
+        for (Result result : results) {
+            if (result.getStatus() == Status.PLACED) {
+                placedCount++;
+            }
+        }
+        this.placed = placedCount;
+        this.rejected = results.size() - placedCount;
+    }
+
+    public List<Result> getResults() { return results; }
+    public int getPlaced() { return placed; }
+    public int getRejected() { return rejected; }
+
+    public enum Status { PLACED, REJECTED }
+
+    public static class Result {
+        private final int index;
+        private final Status status;
+        private final OrderResponse order;
+        private final String error;
+
+        private Result(int index, Status status, OrderResponse order, String error) {
+            this.index = index;
+            this.status = status;
+            this.order = order;
+            this.error = error;
+        }
+
+        public static Result placed(int index, OrderResponse order) {
+            return new Result(index, Status.PLACED, order, null);
+        }
+
+        public static Result rejected(int index, String error) {
+            return new Result(index, Status.REJECTED, null, error);
+        }
+
+        public int getIndex() { return index; }
+        public Status getStatus() { return status; }
+        public OrderResponse getOrder() { return order; }
+        public String getError() { return error; }
+    }
+}
@@ -0,0 +1,35 @@
+package org.ecom.model.order;
+
+import org.ecom.entity.order.OrderItem;
+
+public class OrderItemResponse {
+
+    private Long productId;
+    private String productName;
+    private int quantity;
+    private double price;
+
+    public OrderItemResponse() {
+    }
+
+    public OrderItemResponse(Long productId, String productName, int quantity, double price) {
+        this.productId = productId;
+        this.productName = productName;
+        this.quantity = quantity;
+        this.price = price;
+    }
+
+    public static OrderItemResponse from(OrderItem item) {
+        return new OrderItemResponse(item.getProduct().getId(), item.getProduct().getName(),
+                item.getQuantity(), item.getPrice());
+    }
+
+    public Long getProductId() { return productId; }
+    public void setProductId(Long productId) { this.productId = productId; }
+    public String getProductName() { return productName; }
+    public void setProductName(String productName) { this.productName = productName; }
+    public int getQuantity() { return quantity; }
+    public void setQuantity(int quantity) { this.quantity = quantity; }
+    public double getPrice() { return price; }
+    public void setPrice(double price) { this.price = price; }
+}
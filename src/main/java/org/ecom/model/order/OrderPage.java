@@ -0,0 +1,41 @@
+package org.ecom.model.order;
+
+import java.util.List;
+
+/**
+ * One page of the order history. {@code nextCursor} is passed back as {@code cursor}
+ * to fetch the following page and is {@code null} on the last page.
+ */
+public class OrderPage<T> {
+
+    private List<T> items;
+    private String nextCursor;
+
+    public OrderPage() {
+    }
+
+    public OrderPage(List<T> items, String nextCursor) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+    }
+
+    public List<T> getItems() {
+        return items;
+    }
+
+    public void setItems(List<T> items) {
+        this.items = items;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+
+    public boolean isHasMore() {
+        return nextCursor != null;
+    }
+}
@@ -0,0 +1,71 @@
+package org.ecom.model.order;
+
+import org.ecom.entity.order.Order;
+import org.ecom.entity.order.OrderItem;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Outbox payload written when an order commits; carries ids and amounts only.
+ */
+public class OrderPlacedEvent {
+
+    public static final String TYPE = "ORDER_PLACED";
+
+    private Long orderId;
+    private Long userId;
+    private LocalDateTime orderDate;
+    private Double totalAmount;
+    private List<Item> items;
+
+    public OrderPlacedEvent() {
+    }
+
+    public static OrderPlacedEvent from(Order order) {
+        OrderPlacedEvent event = new OrderPlacedEvent();
+        event.orderId = order.getId();
+        event.userId = order.getUser().getId();
+        event.orderDate = order.getOrderDate();
+        event.totalAmount = order.getTotalAmount();
+        event.items = new ArrayList<>(order.getItems().size());
+        for (OrderItem item : order.getItems()) {
+            event.items.add(new Item(item.getProduct().getId(), item.getQuantity(), item.getPrice()));
+        }
+        return event;
+    }
+
+    public Long getOrderId() { return orderId; }
+    public void setOrderId(Long orderId) { this.orderId = orderId; }
+    public Long getUserId() { return userId; }
+    public void setUserId(Long userId) { this.userId = userId; }
+    public LocalDateTime getOrderDate() { return orderDate; }
+    public void setOrderDate(LocalDateTime orderDate) { this.orderDate = orderDate; }
+    public Double getTotalAmount() { return totalAmount; }
+    public void setTotalAmount(Double totalAmount) { this.totalAmount = totalAmount; }
+    public List<Item> getItems() { return items; }
+    public void setItems(List<Item> items) { this.items = items; }
+
+    public static class Item {
+        private Long productId;
+        private int quantity;
+        private double price;
+
+        public Item() {
+        }
+
+        public Item(Long productId, int quantity, double price) {
+            this.productId = productId;
+            this.quantity = quantity;
+            this.price = price;
+        }
+
+        public Long getProductId() { return productId; }
+        public void setProductId(Long productId) { this.productId = productId; }
+        public int getQuantity() { return quantity; }
+        public void setQuantity(int quantity) { this.quantity = quantity; }
+        public double getPrice() { return price; }
+        public void setPrice(double price) { this.price = price; }
+    }
+}
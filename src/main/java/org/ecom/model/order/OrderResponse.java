@@ -0,0 +1,52 @@
+package org.ecom.model.order;
+
+import org.ecom.entity.order.Order;
+import org.ecom.entity.order.OrderItem;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Order as returned by the API. Unlike the entity it has no user, no back references and no
+ * lazy associations, so serializing it never touches the database.
+ */
+public class OrderResponse {
+
+    private Long id;
+    private LocalDateTime orderDate;
+    private Double totalAmount;
+    private List<OrderItemResponse> items;
+
+    public OrderResponse() {
+    }
+
+    public OrderResponse(Long id, LocalDateTime orderDate, Double totalAmount, List<OrderItemResponse> items) {
+        this.id = id;
+        this.orderDate = orderDate;
+        this.totalAmount = totalAmount;
+        this.items = items;
+    }
+
+    /**
+     * Maps an order whose items and products are already loaded.
+     */
+    public static OrderResponse from(Order order) {
+        List<OrderItemResponse> items = new ArrayList<>();
+        if (order.getItems() != null) {
+            for (OrderItem item : order.getItems()) {
+                items.add(OrderItemResponse.from(item));
+            }
+        }
+        return new OrderResponse(order.getId(), order.getOrderDate(), order.getTotalAmount(), items);
+    }
+
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+    public LocalDateTime getOrderDate() { return orderDate; }
+    public void setOrderDate(LocalDateTime orderDate) { this.orderDate = orderDate; }
+    public Double getTotalAmount() { return totalAmount; }
+    public void setTotalAmount(Double totalAmount) { this.totalAmount = totalAmount; }
+    public List<OrderItemResponse> getItems() { return items; }
+    public void setItems(List<OrderItemResponse> items) { this.items = items; }
+}
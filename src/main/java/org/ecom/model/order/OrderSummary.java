@@ -0,0 +1,33 @@
+package org.ecom.model.order;
+
+import java.time.LocalDateTime;
+
+/**
+ * Order history row, filled directly by a JPQL constructor expression.
+ */
+public class OrderSummary {
+
+    private Long id;
+    private LocalDateTime orderDate;
+    private Double totalAmount;
+    private Long itemCount;
+
+    public OrderSummary() {
+    }
+
+    public OrderSummary(Long id, LocalDateTime orderDate, Double totalAmount, Long itemCount) {
+        this.id = id;
+        this.orderDate = orderDate;
+        this.totalAmount = totalAmount;
+        this.itemCount = itemCount;
+    }
+
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+    public LocalDateTime getOrderDate() { return orderDate; }
+    public void setOrderDate(LocalDateTime orderDate) { this.orderDate = orderDate; }
+    public Double getTotalAmount() { return totalAmount; }
+    public void setTotalAmount(Double totalAmount) { this.totalAmount = totalAmount; }
+    public Long getItemCount() { return itemCount; }
+    public void setItemCount(Long itemCount) { this.itemCount = itemCount; }
+}
@@ -1,8 +1,11 @@
 package org.ecom.model.product;
 
+import org.ecom.entity.product.Product;
+
 public class ProductDto {
 
     private Long id;
+    private String sku;
     private String name;
     private String description;
     private Double price;
@@ -22,6 +25,13 @@ public class ProductDto {
         this.imageUrl = imageUrl;
     }
 
+    public static ProductDto from(Product product) {
+        ProductDto dto = new ProductDto(product.getId(), product.getName(), product.getDescription(), product.getPrice(),
+                product.getStock(), product.getCategory(), product.getImageUrl());
+        dto.setSku(product.getSku());
+        return dto;
+    }
+
     // Getters & Setters
     public Long getId() {
         return id;
@@ -29,6 +39,12 @@ public class ProductDto {
     public void setId(Long id) {
         this.id = id;
     }
+    public String getSku() {
+        return sku;
+    }
+    public void setSku(String sku) {
+        this.sku = sku;
+    }
     public String getName() {
         return name;
     }
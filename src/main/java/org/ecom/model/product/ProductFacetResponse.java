@@ -0,0 +1,44 @@
+package org.ecom.model.product;
+
+import java.util.List;
+import java.util.Map;
+
+public class ProductFacetResponse {
+
+    private int total;
+    private Map<String, Integer> categories;
+    private List<ProductDto> products;
+
+    public ProductFacetResponse() {
+    }
+
+    public ProductFacetResponse(int total, Map<String, Integer> categories, List<ProductDto> products) {
+        this.total = total;
+        this.categories = categories;
+        this.products = products;
+    }
+
+    public int getTotal() {
+        return total;
+    }
+
+    public void setTotal(int total) {
+        this.total = total;
+    }
+
+    public Map<String, Integer> getCategories() {
+        return categories;
+    }
+
+    public void setCategories(Map<String, Integer> categories) {
+        this.categories = categories;
+    }
+
+    public List<ProductDto> getProducts() {
+        return products;
+    }
+
+    public void setProducts(List<ProductDto> products) {
+        this.products = products;
+    }
+}
@@ -0,0 +1,114 @@
+package org.ecom.model.product;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Outcome of a bulk product import. {@code checkpointLine} is the last input line whose chunk was
+ * committed; an interrupted import resumes after it.
+ */
+public class ProductImportReport {
+
+    public static final int MAX_REPORTED_REJECTIONS = 1000;
+
+    private long linesRead;
+    private long inserted;
+    private long updated;
+    private long rejectedCount;
+    private long checkpointLine;
+    private boolean completed;
+    private String error;
+    private long durationMs;
+    private final List<RejectedRow> rejected = new ArrayList<>();
+
+    public void reject(long line, String reason) {
+        rejectedCount++;
+        if (rejected.size() < MAX_REPORTED_REJECTIONS) {
+            rejected.add(new RejectedRow(line, reason));
+        }
+    }
+
+    public void chunkCommitted(long lastLine, int insertedRows, int updatedRows) {
+        checkpointLine = lastLine;
+        inserted += insertedRows;
+        updated += updatedRows;
+    }
+
+    public long getLinesRead() {
+        return linesRead;
+    }
+
+    public void setLinesRead(long linesRead) {
+        this.linesRead = linesRead;
+    }
+
+    public long getInserted() {
+        return inserted;
+    }
+
+    public long getUpdated() {
+        return updated;
+    }
+
+    public long getRejectedCount() {
+        return rejectedCount;
+    }
+
+    /**
+     * First {@value #MAX_REPORTED_REJECTIONS} rejected rows; {@link #getRejectedCount()} has the total.
+     */
+    public List<RejectedRow> getRejected() {
+        return rejected;
+    }
+
+    public long getCheckpointLine() {
+        return checkpointLine;
+    }
+
+    public void setCheckpointLine(long checkpointLine) {
+        this.checkpointLine = checkpointLine;
+    }
+
+    public boolean isCompleted() {
+        return completed;
+    }
+
+    public void setCompleted(boolean completed) {
+        this.completed = completed;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+
+    public long getDurationMs() {
+        return durationMs;
+    }
+
+    public void setDurationMs(long durationMs) {
+        this.durationMs = durationMs;
+    }
+
+    public static class RejectedRow {
+
+        private final long line;
+        private final String reason;
+
+        public RejectedRow(long line, String reason) {
+            this.line = line;
+            this.reason = reason;
+        }
+
+        public long getLine() {
+            return line;
+        }
+
+        public String getReason() {
+            return reason;
+        }
+    }
+}
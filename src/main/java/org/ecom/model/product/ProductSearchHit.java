@@ -0,0 +1,61 @@
+package org.ecom.model.product;
+
+public class ProductSearchHit {
+
+    private Long id;
+    private String name;
+    private String category;
+    private Double price;
+    private int score;
+
+    public ProductSearchHit() {
+    }
+
+    public ProductSearchHit(Long id, String name, String category, Double price, int score) {
+        this.id = id;
+        this.name = name;
+        this.category = category;
+        this.price = price;
+        this.score = score;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public String getCategory() {
+        return category;
+    }
+
+    public void setCategory(String category) {
+        this.category = category;
+    }
+
+    public Double getPrice() {
+        return price;
+    }
+
+    public void setPrice(Double price) {
+        this.price = price;
+    }
+
+    public int getScore() {
+        return score;
+    }
+
+    public void setScore(int score) {
+        this.score = score;
+    }
+}
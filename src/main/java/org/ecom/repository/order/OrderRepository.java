@@ -1,11 +1,60 @@
 package org.ecom.repository.order;
 
-import org.ecom.entity.auth.User;
 import org.ecom.entity.order.Order;
+import org.ecom.model.order.OrderSummary;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 public interface OrderRepository extends JpaRepository<Order, Long> {
-    List<Order> findByUser(User user);
+
+    /**
+     * Newest order summaries of a user; the first page of the keyset-paginated history.
+     * Only the page size of {@code limit} is used, no count query is issued. Items are counted per
+     * returned order by a correlated subquery, so the limit applies to the index scan of orders
+     * rather than to a join and aggregation over the user's whole history.
+     */
+    @Query("select new org.ecom.model.order.OrderSummary(o.id, o.orderDate, o.totalAmount, " +
+            "(select count(i) from OrderItem i where i.order = o)) " +
+            "from Order o " +
+            "where o.user.id = :userId " +
+            "order by o.orderDate desc, o.id desc")
+    List<OrderSummary> findSummariesByUserId(@Param("userId") Long userId, Pageable limit);
+
+    /**
+     * Order summaries of a user strictly older than the {@code (orderDate, id)} cursor, newest first.
+     * Served by the {@code orders(user_id, order_date, id)} index, so the cost per page does not
+     * grow with the number of orders.
+     */
+    @Query("select new org.ecom.model.order.OrderSummary(o.id, o.orderDate, o.totalAmount, " +
+            "(select count(i) from OrderItem i where i.order = o)) " +
+            "from Order o " +
+            "where o.user.id = :userId " +
+            "and (o.orderDate < :orderDate or (o.orderDate = :orderDate and o.id < :id)) " +
+            "order by o.orderDate desc, o.id desc")
+    List<OrderSummary> findSummariesByUserIdAfter(@Param("userId") Long userId,
+                                                  @Param("orderDate") LocalDateTime orderDate,
+                                                  @Param("id") Long id,
+                                                  Pageable limit);
+
+    /**
+     * Orders with their items and products loaded through an entity graph in one query, newest first.
+     * Used to expand a page of summaries without one query per order and per product.
+     */
+    @EntityGraph(attributePaths = {"items", "items.product"})
+    @Query("select o from Order o where o.id in :ids order by o.orderDate desc, o.id desc")
+    List<Order> findWithItemsByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * One order with its items and their products fetched in the same query.
+     */
+    @Query("select distinct o from Order o left join fetch o.items i left join fetch i.product where o.id = :id")
+    Optional<Order> findWithItemsById(@Param("id") Long id);
 }
@@ -0,0 +1,26 @@
+package org.ecom.repository.outbox;
+
+import org.ecom.entity.outbox.OutboxEvent;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    /**
+     * Oldest pending events whose next attempt is due; only the page size of {@code limit} is used.
+     */
+    @Query("select e from OutboxEvent e where e.status = :status and e.nextAttemptAt <= :now order by e.id")
+    List<OutboxEvent> findDue(@Param("status") OutboxEvent.Status status, @Param("now") LocalDateTime now, Pageable limit);
+
+    long countByStatus(OutboxEvent.Status status);
+
+    @Modifying
+    @Query("delete from OutboxEvent e where e.status = :status and e.processedAt < :before")
+    int deleteProcessedBefore(@Param("status") OutboxEvent.Status status, @Param("before") LocalDateTime before);
+}
@@ -1,9 +1,25 @@
 package org.ecom.repository.product;
 
+import jakarta.persistence.LockModeType;
 import org.ecom.entity.product.Product;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+
 @Repository
-public interface ProductRepository extends JpaRepository<Product, Long> {
+public interface ProductRepository extends JpaRepository<Product, Long>, ProductRepositoryCustom {
+
+    /**
+     * Loads the products from the database, not the second-level cache, and locks their rows until the
+     * transaction ends. Rows are locked in id order, the same order {@link #decrementStock}
+     * reservations use, so checkouts cannot deadlock.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select p from Product p where p.id in :ids order by p.id")
+    List<Product> findAllByIdForUpdate(@Param("ids") Collection<Long> ids);
 }
@@ -0,0 +1,27 @@
+package org.ecom.repository.product;
+
+import org.ecom.entity.product.Product;
+
+import java.util.List;
+
+/**
+ * Product queries that have to cooperate with the second-level cache; implemented in
+ * {@link ProductRepositoryCustomImpl}.
+ */
+public interface ProductRepositoryCustom {
+
+    /**
+     * Atomically takes {@code quantity} units off the stock, only if that many are available.
+     * The product's cache entry stays locked until the transaction ends, so no reader sees
+     * cached stock from before the update.
+     *
+     * @return 1 when the stock was reserved, 0 when it was insufficient or the product does not exist
+     */
+    int decrementStock(Long id, int quantity);
+
+    /**
+     * Loads the products by id, taking cached ones from the second-level cache and loading
+     * the rest in batches. Unknown ids are left out.
+     */
+    List<Product> findAllById(Iterable<Long> ids);
+}
@@ -0,0 +1,81 @@
+package org.ecom.repository.product;
+
+import jakarta.persistence.EntityManager;
+import org.ecom.entity.product.Product;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.hibernate.cache.spi.access.EntityDataAccess;
+import org.hibernate.cache.spi.access.SoftLock;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.List;
+
+public class ProductRepositoryCustomImpl implements ProductRepositoryCustom {
+
+    private static final String DECREMENT_SQL = "update products set stock = stock - ? where id = ? and stock >= ?";
+
+    private final EntityManager entityManager;
+
+    public ProductRepositoryCustomImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    /**
+     * Runs as plain SQL on the session's connection: a JPQL bulk update would make Hibernate drop
+     * the whole products region on every checkout. Instead only this product's entry is locked,
+     * the same way Hibernate handles its own updates: until the transaction ends readers miss and
+     * go to the database, and loads that started before the unlock are not cached.
+     */
+    @Override
+    @Transactional
+    public int decrementStock(Long id, int quantity) {
+        SessionImplementor session = entityManager.unwrap(SessionImplementor.class);
+        EntityPersister persister = session.getFactory().getRuntimeMetamodels().getMappingMetamodel()
+                .getEntityDescriptor(Product.class);
+        EntityDataAccess cacheAccess = persister.canWriteToCache() ? persister.getCacheAccessStrategy() : null;
+
+        if (cacheAccess != null) {
+            Object cacheKey = cacheAccess.generateCacheKey(id, persister, session.getFactory(),
+                    session.getTenantIdentifier());
+            SoftLock lock = cacheAccess.lockItem(session, cacheKey, null);
+            session.getActionQueue().registerProcess((success, completed) ->
+                    cacheAccess.unlockItem(completed, cacheKey, lock));
+        }
+
+        return session.doReturningWork(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(DECREMENT_SQL)) {
+                statement.setInt(1, quantity);
+                statement.setLong(2, id);
+                statement.setInt(3, quantity);
+                return statement.executeUpdate();
+            }
+        });
+    }
+
+    /**
+     * Replaces the single IN query of the default implementation, which never reads the
+     * second-level cache. Multi-load only consults the cache when a cache mode is given.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<Product> findAllById(Iterable<Long> ids) {
+        List<Long> idList = new ArrayList<>();
+        ids.forEach(idList::add);
+        List<Product> loaded = entityManager.unwrap(Session.class)
+                .byMultipleIds(Product.class)
+                .with(CacheMode.NORMAL)
+                .multiLoad(idList);
+
+        List<Product> products = new ArrayList<>(loaded.size());
+        for (Product product : loaded) {
+            if (product != null) {
+                products.add(product);
+            }
+        }
+        return products;
+    }
+}
@@ -0,0 +1,160 @@
+package org.ecom.security;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.ecom.model.admin.PasswordHashingStats;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Runs a slow {@link PasswordEncoder} (BCrypt) on its own small pool so that a burst of logins
+ * occupies at most {@code threads} CPUs instead of every request thread. Up to {@code queueCapacity}
+ * calls wait for a free thread; beyond that callers are turned away at once with 503, and the
+ * rest of the API keeps its threads and CPU.
+ * <p>
+ * Meters: {@code auth.password.hash} (by operation) and {@code auth.password.wait} timers, the
+ * {@code auth.password.queued} and {@code auth.password.active} gauges and the
+ * {@code auth.password.rejected} counter.
+ */
+public class BoundedPasswordEncoder implements PasswordEncoder, DisposableBean {
+
+    private final PasswordEncoder delegate;
+    private final ThreadPoolExecutor executor;
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder waitNanos = new LongAdder();
+    private final LongAdder hashNanos = new LongAdder();
+    private final AtomicLong maxHashNanos = new AtomicLong();
+    private final Timer encodeTimer;
+    private final Timer matchesTimer;
+    private final Timer waitTimer;
+
+    public BoundedPasswordEncoder(PasswordEncoder delegate, int threads, int queueCapacity,
+                                  MeterRegistry meterRegistry) {
+        if (threads <= 0 || queueCapacity <= 0) {
+            throw new IllegalArgumentException("Password hashing needs at least one thread and one queue slot");
+        }
+        this.delegate = delegate;
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-hashing-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+
+        this.encodeTimer = hashTimer(meterRegistry, "encode");
+        this.matchesTimer = hashTimer(meterRegistry, "matches");
+        this.waitTimer = waitTimer(meterRegistry);
+        Gauge.builder("auth.password.queued", executor, pool -> pool.getQueue().size())
+                .description("Password hashing calls waiting for a thread")
+                .register(meterRegistry);
+        Gauge.builder("auth.password.active", executor, ThreadPoolExecutor::getActiveCount)
+                .description("Password hashing threads busy")
+                .register(meterRegistry);
+        FunctionCounter.builder("auth.password.rejected", rejected, LongAdder::sum)
+                .description("Password hashing calls turned away with 503 because the pool was full")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return run(() -> delegate.encode(rawPassword), encodeTimer);
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return run(() -> delegate.matches(rawPassword, encodedPassword), matchesTimer);
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    public PasswordHashingStats stats() {
+        long done = completed.sum();
+        return new PasswordHashingStats(
+                executor.getMaximumPoolSize(),
+                executor.getActiveCount(),
+                executor.getQueue().size(),
+                executor.getQueue().size() + executor.getQueue().remainingCapacity(),
+                done,
+                rejected.sum(),
+                done == 0 ? 0 : waitNanos.sum() / done / 1_000_000.0,
+                done == 0 ? 0 : hashNanos.sum() / done / 1_000_000.0,
+                maxHashNanos.get() / 1_000_000.0);
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+
+    private <T> T run(Callable<T> hashing, Timer timer) {
+        long submitted = System.nanoTime();
+        Future<T> result;
+        try {
+            result = executor.submit(() -> {
+                long started = System.nanoTime();
+                try {
+                    return hashing.call();
+                } finally {
+                    long took = System.nanoTime() - started;
+                    timer.record(took, TimeUnit.NANOSECONDS);
+                    waitTimer.record(started - submitted, TimeUnit.NANOSECONDS);
+                    waitNanos.add(started - submitted);
+                    hashNanos.add(took);
+                    maxHashNanos.accumulateAndGet(took, Math::max);
+                    completed.increment();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE,
+                    "Too many sign-in requests, retry shortly");
+        }
+        try {
+            return result.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (InterruptedException e) {
+            result.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for password hashing", e);
+        }
+    }
+
+    private static Timer hashTimer(MeterRegistry registry, String operation) {
+        return Timer.builder("auth.password.hash")
+                .description("Time spent hashing or verifying a password, excluding queueing")
+                .tag("operation", operation)
+                .register(registry);
+    }
+
+    private static Timer waitTimer(MeterRegistry registry) {
+        return Timer.builder("auth.password.wait")
+                .description("Time a password hashing call waited for a free thread")
+                .register(registry);
+    }
+}
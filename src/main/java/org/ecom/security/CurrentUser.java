@@ -0,0 +1,32 @@
+package org.ecom.security;
+
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+/**
+ * Accessors for the authenticated user of the current request.
+ */
+public final class CurrentUser {
+
+    private CurrentUser() {
+    }
+
+    /**
+     * Email of the authenticated user, as carried in the JWT subject.
+     */
+    public static String email() {
+        return SecurityContextHolder.getContext().getAuthentication().getName();
+    }
+
+    /**
+     * User id taken from the verified token when authentication is stateless, otherwise {@code null}
+     * and callers have to resolve the user by {@link #email()}.
+     */
+    public static Long id() {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (auth != null && auth.getPrincipal() instanceof JwtClaims claims) {
+            return claims.getUserId();
+        }
+        return null;
+    }
+}
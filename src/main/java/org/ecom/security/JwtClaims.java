@@ -0,0 +1,74 @@
+package org.ecom.security;
+
+import io.jsonwebtoken.Claims;
+import org.springframework.security.core.AuthenticatedPrincipal;
+
+import java.util.Date;
+
+/**
+ * Verified claims of a JWT, produced once per request by {@link JwtService#parseToken(String)}.
+ * The filter stores it on the request under {@link #REQUEST_ATTRIBUTE} so downstream code
+ * can reuse it instead of parsing the token again. In stateless mode it is also the
+ * authentication principal, so its {@link #getName()} is the user's email.
+ */
+public final class JwtClaims implements AuthenticatedPrincipal {
+
+    public static final String REQUEST_ATTRIBUTE = JwtClaims.class.getName();
+
+    private final String email;
+    private final Long userId;
+    private final String role;
+    private final Date expiration;
+
+    public JwtClaims(String email, Long userId, String role, Date expiration) {
+        this.email = email;
+        this.userId = userId;
+        this.role = role;
+        this.expiration = expiration;
+    }
+
+    static JwtClaims from(Claims claims) {
+        Number userId = claims.get("userId", Number.class);
+        return new JwtClaims(
+                claims.getSubject(),
+                userId != null ? userId.longValue() : null,
+                claims.get("role", String.class),
+                claims.getExpiration()
+        );
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    @Override
+    public String getName() {
+        return email;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public String getRole() {
+        return role;
+    }
+
+    public Date getExpiration() {
+        return expiration;
+    }
+
+    public boolean isExpired() {
+        return expiration != null && expiration.before(new Date());
+    }
+
+    @Override
+    public String toString() {
+        return "JwtClaims{" +
+                "email='" + email + '\'' +
+                ", userId=" + userId +
+                ", role='" + role + '\'' +
+                ", expiration=" + expiration +
+                '}';
+    }
+}
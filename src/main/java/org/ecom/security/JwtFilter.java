@@ -1,10 +1,12 @@
 package org.ecom.security;
 
+import io.jsonwebtoken.JwtException;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
@@ -17,10 +19,17 @@ public class JwtFilter extends OncePerRequestFilter {
 
     private final JwtService jwtService;
     private final UserDetailsService userDetailsService;
+    private final boolean statelessAuth;
 
-    public JwtFilter(JwtService jwtService, UserDetailsService userDetailsService) {
+    /**
+     * @param statelessAuth when {@code true}, the authentication is built from the verified token claims
+     *                      alone and the user is not looked up; role changes and deleted accounts then only
+     *                      take effect once the token expires
+     */
+    public JwtFilter(JwtService jwtService, UserDetailsService userDetailsService, boolean statelessAuth) {
         this.jwtService = jwtService;
         this.userDetailsService = userDetailsService;
+        this.statelessAuth = statelessAuth;
     }
 
     @Override
@@ -35,13 +44,28 @@ public class JwtFilter extends OncePerRequestFilter {
         }
 
         String token = authHeader.substring(7);
-        String email = jwtService.extractEmail(token);
+        JwtClaims claims;
+        try {
+            claims = jwtService.parseToken(token);
+        } catch (JwtException | IllegalArgumentException e) {
+            // Invalid or expired token: continue unauthenticated and let security reject the request
+            chain.doFilter(request, response);
+            return;
+        }
+        request.setAttribute(JwtClaims.REQUEST_ATTRIBUTE, claims);
 
-        if (email != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            UserDetails userDetails = userDetailsService.loadUserByUsername(email);
-            if (jwtService.isValid(token, userDetails)) {
-                UsernamePasswordAuthenticationToken authToken =
-                        new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
+        if (claims.getEmail() != null && SecurityContextHolder.getContext().getAuthentication() == null) {
+            UsernamePasswordAuthenticationToken authToken = null;
+            if (statelessAuth && claims.getUserId() != null && claims.getRole() != null) {
+                authToken = new UsernamePasswordAuthenticationToken(
+                        claims, null, AuthorityUtils.createAuthorityList(claims.getRole()));
+            } else {
+                UserDetails userDetails = userDetailsService.loadUserByUsername(claims.getEmail());
+                if (jwtService.isValid(claims, userDetails)) {
+                    authToken = new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
+                }
+            }
+            if (authToken != null) {
                 authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
                 SecurityContextHolder.getContext().setAuthentication(authToken);
             }
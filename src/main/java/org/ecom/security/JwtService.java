@@ -1,13 +1,19 @@
 package org.ecom.security;
 
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.ecom.entity.auth.User;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 
+import javax.crypto.SecretKey;
 import java.util.Date;
+import java.util.concurrent.TimeUnit;
 
 @Service
 public class JwtService {
@@ -18,6 +24,20 @@ public class JwtService {
     @Value("${jwt.expiration-ms}")
     private long expiration;
 
+    // Derived from the secret on first use and shared afterwards; JwtParser is immutable and thread-safe.
+    private volatile SecretKey signingKey;
+    private volatile JwtParser parser;
+
+    private final Timer validParses;
+    private final Timer expiredParses;
+    private final Timer invalidParses;
+
+    public JwtService(MeterRegistry meterRegistry) {
+        this.validParses = parseTimer(meterRegistry, "valid");
+        this.expiredParses = parseTimer(meterRegistry, "expired");
+        this.invalidParses = parseTimer(meterRegistry, "invalid");
+    }
+
     public String generateToken(User user) {
         return Jwts.builder()
                 .setSubject(user.getEmail())
@@ -25,31 +45,68 @@ public class JwtService {
                 .claim("role", user.getRole())
                 .setIssuedAt(new Date())
                 .setExpiration(new Date(System.currentTimeMillis() + expiration))
-                .signWith(Keys.hmacShaKeyFor(secret.getBytes()))
+                .signWith(signingKey())
                 .compact();
     }
 
+    /**
+     * Verifies the signature and expiry of the token and returns its claims.
+     *
+     * @throws io.jsonwebtoken.JwtException if the token is malformed, tampered with or expired
+     */
+    public JwtClaims parseToken(String token) {
+        long started = System.nanoTime();
+        Timer outcome = invalidParses;
+        try {
+            JwtClaims claims = JwtClaims.from(parser().parseClaimsJws(token).getBody());
+            outcome = validParses;
+            return claims;
+        } catch (ExpiredJwtException e) {
+            outcome = expiredParses;
+            throw e;
+        } finally {
+            outcome.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+        }
+    }
+
     public String extractEmail(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(secret.getBytes())
-                .build()
-                .parseClaimsJws(token)
-                .getBody()
-                .getSubject();
+        return parseToken(token).getEmail();
     }
 
     public boolean isValid(String token, UserDetails userDetails) {
-        String email = extractEmail(token);
-        return email.equals(userDetails.getUsername()) && !isExpired(token);
-    }
-
-    private boolean isExpired(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(secret.getBytes())
-                .build()
-                .parseClaimsJws(token)
-                .getBody()
-                .getExpiration()
-                .before(new Date());
+        return isValid(parseToken(token), userDetails);
+    }
+
+    public boolean isValid(JwtClaims claims, UserDetails userDetails) {
+        return claims.getEmail() != null
+                && claims.getEmail().equals(userDetails.getUsername())
+                && !claims.isExpired();
+    }
+
+    private static Timer parseTimer(MeterRegistry meterRegistry, String outcome) {
+        return Timer.builder("auth.jwt.parse")
+                .description("JWT signature verification and claims parsing")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    private SecretKey signingKey() {
+        SecretKey key = signingKey;
+        if (key == null) {
+            key = Keys.hmacShaKeyFor(secret.getBytes());
+            signingKey = key;
+        }
+        return key;
+    }
+
+    private JwtParser parser() {
+        JwtParser p = parser;
+        if (p == null) {
+            p = Jwts.parserBuilder()
+                    .setSigningKey(signingKey())
+                    .build();
+            parser = p;
+        }
+        return p;
     }
 }
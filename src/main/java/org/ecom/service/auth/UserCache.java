@@ -0,0 +1,96 @@
+package org.ecom.service.auth;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.ecom.entity.auth.User;
+import org.ecom.repository.auth.UserRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Size-bounded, expiring cache of users keyed by email, sitting in front of
+ * {@link UserRepository#findByEmail(String)}. Cached users are detached entities shared
+ * between requests and must be treated as read-only.
+ * <p>
+ * Publishes the Caffeine statistics as {@code cache.*} meters (cache=users) and the lookup latency
+ * as {@code users.lookup}, tagged with whether the cache answered.
+ */
+@Component
+public class UserCache {
+
+    private final UserRepository userRepository;
+    private final Cache<String, User> users;
+    private final Timer hits;
+    private final Timer misses;
+
+    public UserCache(UserRepository userRepository,
+                     @Value("${cache.users.max-size:10000}") long maxSize,
+                     @Value("${cache.users.ttl:5m}") Duration ttl,
+                     MeterRegistry meterRegistry) {
+        this.userRepository = userRepository;
+        this.users = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, users, "users");
+        this.hits = lookupTimer(meterRegistry, "hit");
+        this.misses = lookupTimer(meterRegistry, "miss");
+    }
+
+    /**
+     * The query runs outside the cache: a loader passed to {@code Cache.get} would run inside a
+     * map-bin lock and pin a virtual thread's carrier for the whole JDBC call. Concurrent misses
+     * for the same email may therefore each query once.
+     */
+    public Optional<User> findByEmail(String email) {
+        long started = System.nanoTime();
+        User user = users.getIfPresent(email);
+        if (user != null) {
+            hits.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+            return Optional.of(user);
+        }
+        // Unknown emails are not cached, so a user registering afterwards is found immediately
+        user = userRepository.findByEmail(email).orElse(null);
+        if (user != null) {
+            users.put(email, user);
+        }
+        misses.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+        return Optional.ofNullable(user);
+    }
+
+    public void evict(String email) {
+        users.invalidate(email);
+    }
+
+    public void evictById(Long id) {
+        users.asMap().values().removeIf(user -> id.equals(user.getId()));
+    }
+
+    public void clear() {
+        users.invalidateAll();
+    }
+
+    public CacheStats stats() {
+        return users.stats();
+    }
+
+    public long size() {
+        return users.estimatedSize();
+    }
+
+    private static Timer lookupTimer(MeterRegistry registry, String cache) {
+        return Timer.builder("users.lookup")
+                .description("User lookup by email, from the cache or the database")
+                .tag("cache", cache)
+                .register(registry);
+    }
+}
@@ -0,0 +1,60 @@
+package org.ecom.service.auth;
+
+import org.ecom.entity.auth.User;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostDeleteEventListener;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.event.spi.PostUpdateEventListener;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Evicts a user from {@link UserCache} whenever the entity is updated (password, role, email) or removed.
+ * Registered with Hibernate by {@link org.ecom.config.HibernateEventListenerConfig}.
+ * <p>
+ * The events fire at flush, before the transaction commits, so a concurrent lookup can still load
+ * and cache the old row. The user is therefore evicted again once the transaction has committed.
+ */
+@Component
+public class UserCacheInvalidationListener implements PostUpdateEventListener, PostDeleteEventListener {
+
+    private final UserCache userCache;
+
+    public UserCacheInvalidationListener(UserCache userCache) {
+        this.userCache = userCache;
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        if (event.getEntity() instanceof User user) {
+            evict(user);
+        }
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        if (event.getEntity() instanceof User user) {
+            evict(user);
+        }
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return false;
+    }
+
+    public void evict(User user) {
+        Long id = user.getId();
+        userCache.evictById(id);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    userCache.evictById(id);
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package org.ecom.service.order;
+
+import java.util.function.Supplier;
+
+/**
+ * Remembers the outcome of requests by idempotency key, so a retried request gets the first
+ * response instead of being executed again.
+ */
+public interface IdempotencyStore {
+
+    /**
+     * Runs {@code action} the first time {@code key} is seen and stores its result.
+     * <ul>
+     *     <li>A completed key returns the stored result without running {@code action}.</li>
+     *     <li>A key still in flight makes the caller wait for the first execution and share its result.</li>
+     *     <li>A key used with a different {@code fingerprint} is rejected with 422.</li>
+     * </ul>
+     * Failed executions are not stored, so the key can be retried.
+     *
+     * @param fingerprint digest of the request payload the key was first used with
+     */
+    <T> T execute(String key, String fingerprint, Supplier<T> action);
+}
@@ -0,0 +1,53 @@
+package org.ecom.service.order;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.ecom.model.order.OrderRequest;
+import org.ecom.model.order.OrderResponse;
+import org.ecom.security.CurrentUser;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * Order placement keyed by the client's {@code Idempotency-Key}. Keys are scoped to the
+ * authenticated user, so two users choosing the same key never see each other's orders.
+ */
+@Service
+public class IdempotentOrderService {
+
+    private final OrderService orderService;
+    private final IdempotencyStore idempotencyStore;
+    private final ObjectMapper objectMapper;
+
+    public IdempotentOrderService(OrderService orderService, IdempotencyStore idempotencyStore, ObjectMapper objectMapper) {
+        this.orderService = orderService;
+        this.idempotencyStore = idempotencyStore;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Places the order once per key; retries get the response of the first successful placement.
+     */
+    public OrderResponse placeOrder(String idempotencyKey, OrderRequest request) {
+        if (idempotencyKey.length() > 255) {
+            throw new IllegalArgumentException("Idempotency-Key must be at most 255 characters");
+        }
+        String key = CurrentUser.email() + ":" + idempotencyKey;
+        // Runs outside any transaction, so the stored response is only published once the order has committed
+        return idempotencyStore.execute(key, fingerprint(request),
+                () -> OrderResponse.from(orderService.placeOrder(request)));
+    }
+
+    private String fingerprint(OrderRequest request) {
+        try {
+            byte[] payload = objectMapper.writeValueAsBytes(request);
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(payload));
+        } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Cannot fingerprint order request", e);
+        }
+    }
+}
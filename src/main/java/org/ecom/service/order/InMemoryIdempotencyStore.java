@@ -0,0 +1,89 @@
+package org.ecom.service.order;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Node-local {@link IdempotencyStore}: entries live in a size-bounded Caffeine cache and expire
+ * {@code orders.idempotency.ttl} after the key is first used. Each entry holds a future, so
+ * duplicates arriving while the first request is running block on it rather than racing it.
+ */
+@Component
+public class InMemoryIdempotencyStore implements IdempotencyStore {
+
+    private final Cache<String, Entry> entries;
+    private final Duration waitTimeout;
+
+    public InMemoryIdempotencyStore(@Value("${orders.idempotency.max-keys:100000}") long maxKeys,
+                                    @Value("${orders.idempotency.ttl:24h}") Duration ttl,
+                                    @Value("${orders.idempotency.wait-timeout:10s}") Duration waitTimeout) {
+        this.entries = Caffeine.newBuilder()
+                .maximumSize(maxKeys)
+                .expireAfterWrite(ttl)
+                .build();
+        this.waitTimeout = waitTimeout;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T execute(String key, String fingerprint, Supplier<T> action) {
+        Entry claimed = new Entry(fingerprint);
+        Entry existing = entries.asMap().putIfAbsent(key, claimed);
+        if (existing == null) {
+            try {
+                T result = action.get();
+                claimed.result.complete(result);
+                return result;
+            } catch (RuntimeException | Error e) {
+                entries.asMap().remove(key, claimed);
+                claimed.result.completeExceptionally(e);
+                throw e;
+            }
+        }
+
+        if (!existing.fingerprint.equals(fingerprint)) {
+            throw new ResponseStatusException(HttpStatus.UNPROCESSABLE_ENTITY,
+                    "Idempotency-Key was already used with a different request");
+        }
+        try {
+            return (T) existing.result.get(waitTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT,
+                    "A request with this Idempotency-Key is still in progress");
+        } catch (ExecutionException e) {
+            // The first attempt failed and released the key; report the same failure to its duplicates
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for an in-flight request", e);
+        }
+    }
+
+    public long size() {
+        return entries.estimatedSize();
+    }
+
+    private static final class Entry {
+
+        private final String fingerprint;
+        private final CompletableFuture<Object> result = new CompletableFuture<>();
+
+        private Entry(String fingerprint) {
+            this.fingerprint = fingerprint;
+        }
+    }
+}
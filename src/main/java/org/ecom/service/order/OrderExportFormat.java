@@ -0,0 +1,35 @@
+package org.ecom.service.order;
+
+import java.util.Locale;
+
+public enum OrderExportFormat {
+
+    /** One JSON object per order, with its items nested. */
+    NDJSON("application/x-ndjson", "ndjson"),
+    /** One row per order item; orders without items get one row with empty item columns. */
+    CSV("text/csv", "csv");
+
+    private final String contentType;
+    private final String extension;
+
+    OrderExportFormat(String contentType, String extension) {
+        this.contentType = contentType;
+        this.extension = extension;
+    }
+
+    public static OrderExportFormat of(String format) {
+        try {
+            return valueOf(format.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unsupported export format: " + format);
+        }
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+}
@@ -0,0 +1,201 @@
+package org.ecom.service.order;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+/**
+ * Streams orders joined with their items for a date range.
+ * <p>
+ * Rows are read through a forward-only JDBC cursor with a bounded fetch size and written to the
+ * output as they arrive; no entities are created, so there is no persistence context to grow and
+ * heap use does not depend on the size of the range. The query runs in a read-only transaction,
+ * which some drivers (e.g. PostgreSQL) require before they honour the fetch size.
+ */
+@Service
+public class OrderExportService {
+
+    private static final String EXPORT_SQL = """
+            select o.id as order_id, o.order_date, o.user_id, u.email, o.total_amount,
+                   i.id as item_id, i.product_id, p.sku, p.name as product_name, i.quantity, i.price
+            from orders o
+            join users u on u.id = o.user_id
+            left join order_items i on i.order_id = o.id
+            left join products p on p.id = i.product_id
+            where o.order_date >= ? and o.order_date < ?
+            order by o.order_date, o.id, i.id
+            """;
+
+    private static final String CSV_HEADER = "order_id,order_date,user_id,user_email,order_total,"
+            + "item_id,product_id,product_sku,product_name,quantity,price\n";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate readOnlyTransaction;
+    private final ObjectMapper objectMapper;
+
+    public OrderExportService(DataSource dataSource,
+                              PlatformTransactionManager transactionManager,
+                              ObjectMapper objectMapper,
+                              @Value("${orders.export.fetch-size:1000}") int fetchSize) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(fetchSize);
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Writes every order placed in [from, to) to {@code out}, oldest first. The stream is flushed but not closed.
+     */
+    public void export(LocalDateTime from, LocalDateTime to, OrderExportFormat format, OutputStream out) throws IOException {
+        if (!from.isBefore(to)) {
+            throw new IllegalArgumentException("from must be before to");
+        }
+        ExportWriter writer = format == OrderExportFormat.CSV ? new CsvWriter(out) : new NdJsonWriter(out);
+        try {
+            readOnlyTransaction.executeWithoutResult(status -> jdbcTemplate.query(EXPORT_SQL, (RowCallbackHandler) rs -> {
+                try {
+                    writer.row(rs);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }, Timestamp.valueOf(from), Timestamp.valueOf(to)));
+        } catch (UncheckedIOException e) {
+            // Usually the client went away; stop reading rows and let the caller see the I/O failure
+            throw e.getCause();
+        }
+        writer.finish();
+    }
+
+    private interface ExportWriter {
+
+        void row(ResultSet rs) throws SQLException, IOException;
+
+        void finish() throws IOException;
+    }
+
+    private static final class CsvWriter implements ExportWriter {
+
+        private final Writer out;
+        private final StringBuilder line = new StringBuilder(256);
+
+        CsvWriter(OutputStream out) throws IOException {
+            this.out = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 1 << 16);
+            this.out.write(CSV_HEADER);
+        }
+
+        @Override
+        public void row(ResultSet rs) throws SQLException, IOException {
+            line.setLength(0);
+            line.append(rs.getLong("order_id")).append(',')
+                    .append(rs.getTimestamp("order_date").toLocalDateTime()).append(',')
+                    .append(rs.getLong("user_id")).append(',');
+            appendField(rs.getString("email")).append(',')
+                    .append(rs.getDouble("total_amount")).append(',');
+            long itemId = rs.getLong("item_id");
+            if (!rs.wasNull()) {
+                line.append(itemId).append(',')
+                        .append(rs.getLong("product_id")).append(',');
+                appendField(rs.getString("sku")).append(',');
+                appendField(rs.getString("product_name")).append(',')
+                        .append(rs.getInt("quantity")).append(',')
+                        .append(rs.getDouble("price"));
+            } else {
+                line.append(",,,,,");
+            }
+            out.write(line.append('\n').toString());
+        }
+
+        @Override
+        public void finish() throws IOException {
+            out.flush();
+        }
+
+        private StringBuilder appendField(String value) {
+            if (value == null) {
+                return line;
+            }
+            if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+                return line.append(value);
+            }
+            return line.append('"').append(value.replace("\"", "\"\"")).append('"');
+        }
+    }
+
+    /**
+     * Rows arrive ordered by order id, so each order is closed as soon as the next one starts.
+     */
+    private final class NdJsonWriter implements ExportWriter {
+
+        private final JsonGenerator json;
+        private long currentOrderId = -1;
+
+        NdJsonWriter(OutputStream out) throws IOException {
+            this.json = objectMapper.getFactory().createGenerator(out);
+            this.json.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            this.json.setRootValueSeparator(new SerializedString("\n"));
+        }
+
+        @Override
+        public void row(ResultSet rs) throws SQLException, IOException {
+            long orderId = rs.getLong("order_id");
+            if (orderId != currentOrderId) {
+                endOrder();
+                currentOrderId = orderId;
+                json.writeStartObject();
+                json.writeNumberField("orderId", orderId);
+                json.writeStringField("orderDate", rs.getTimestamp("order_date").toLocalDateTime().toString());
+                json.writeNumberField("userId", rs.getLong("user_id"));
+                json.writeStringField("userEmail", rs.getString("email"));
+                json.writeNumberField("totalAmount", rs.getDouble("total_amount"));
+                json.writeArrayFieldStart("items");
+            }
+            long itemId = rs.getLong("item_id");
+            if (!rs.wasNull()) {
+                json.writeStartObject();
+                json.writeNumberField("itemId", itemId);
+                json.writeNumberField("productId", rs.getLong("product_id"));
+                json.writeStringField("productSku", rs.getString("sku"));
+                json.writeStringField("productName", rs.getString("product_name"));
+                json.writeNumberField("quantity", rs.getInt("quantity"));
+                json.writeNumberField("price", rs.getDouble("price"));
+                json.writeEndObject();
+            }
+        }
+
+        @Override
+        public void finish() throws IOException {
+            endOrder();
+            if (currentOrderId != -1) {
+                json.writeRaw('\n');
+            }
+            json.flush();
+        }
+
+        private void endOrder() throws IOException {
+            if (currentOrderId != -1) {
+                json.writeEndArray();
+                json.writeEndObject();
+            }
+        }
+    }
+}
@@ -1,48 +1,386 @@
 package org.ecom.service.order;
 
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.ecom.entity.auth.User;
 import org.ecom.entity.order.Order;
 import org.ecom.entity.order.OrderItem;
 import org.ecom.entity.product.Product;
+import org.ecom.model.order.BatchOrderResponse;
+import org.ecom.model.order.OrderPage;
+import org.ecom.model.order.OrderPlacedEvent;
 import org.ecom.model.order.OrderRequest;
+import org.ecom.model.order.OrderResponse;
+import org.ecom.model.order.OrderSummary;
 import org.ecom.repository.auth.UserRepository;
 import org.ecom.repository.order.OrderRepository;
 import org.ecom.repository.product.ProductRepository;
-import org.springframework.security.core.context.SecurityContextHolder;
+import org.ecom.security.CurrentUser;
+import org.ecom.service.auth.UserCache;
+import org.ecom.service.outbox.Outbox;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.function.Supplier;
 
+/**
+ * Order placement and history.
+ * <p>
+ * Meters: {@code orders.place} and {@code orders.place.batch} timers (by outcome), the
+ * {@code orders.place.cart.size} distribution of distinct products per order and the
+ * {@code orders.read} timer (by operation). Timers cover the service call up to commit; the commit itself, where Hibernate
+ * flushes the inserts, shows in {@code http.server.requests} and the {@code hibernate.*} meters.
+ */
 @Service
 public class OrderService {
 
     private final OrderRepository orderRepository;
     private final UserRepository userRepository;
     private final ProductRepository productRepository;
+    private final UserCache userCache;
+    private final Outbox outbox;
+    private final MeterRegistry meterRegistry;
+    private final DistributionSummary cartSize;
 
-    public OrderService(OrderRepository orderRepository, UserRepository userRepository, ProductRepository productRepository) {
+    @Value("${orders.page.default-size:20}")
+    private int defaultPageSize = 20;
+
+    @Value("${orders.page.max-size:100}")
+    private int maxPageSize = 100;
+
+    @Value("${orders.batch.max-size:500}")
+    private int maxBatchSize = 500;
+
+    public OrderService(OrderRepository orderRepository, UserRepository userRepository, ProductRepository productRepository,
+                        UserCache userCache, Outbox outbox, MeterRegistry meterRegistry) {
         this.orderRepository = orderRepository;
         this.userRepository = userRepository;
         this.productRepository = productRepository;
+        this.userCache = userCache;
+        this.outbox = outbox;
+        this.meterRegistry = meterRegistry;
+        this.cartSize = DistributionSummary.builder("orders.place.cart.size")
+                .description("Distinct products per placed order")
+                .baseUnit("items")
+                .register(meterRegistry);
     }
 
+    /**
+     * Places an order and records an {@link OrderPlacedEvent} in the same transaction. Follow-up
+     * work (confirmation and the like) runs later from the outbox, off the request path.
+     */
     @Transactional
     public Order placeOrder(OrderRequest request) {
-        String email = SecurityContextHolder.getContext().getAuthentication().getName();
-        User user = userRepository.findByEmail(email)
+        return timed("orders.place", null, () -> {
+            Map<Long, Integer> quantities = validateItems(request);
+            cartSize.record(quantities.size());
+            User user = currentUser();
+            Map<Long, Product> products = loadProducts(quantities.keySet());
+            reserveStock(quantities);
+            Order order = orderRepository.save(buildOrder(user, request, products));
+            outbox.enqueue(OrderPlacedEvent.TYPE, order.getId(), OrderPlacedEvent.from(order));
+            return order;
+        });
+    }
+
+    /**
+     * Places many orders for the current user in one transaction, with partial success.
+     * <p>
+     * All referenced products are loaded and row-locked with one query, stock is allocated to the
+     * orders in submission order in memory, and orders that are invalid or cannot be fully served
+     * are rejected without affecting the others. The new stock levels and all orders and items are
+     * then written with batched statements at commit.
+     */
+    @Transactional
+    public BatchOrderResponse placeOrders(List<OrderRequest> requests) {
+        return timed("orders.place.batch", null, () -> placeBatch(requests));
+    }
+
+    private BatchOrderResponse placeBatch(List<OrderRequest> requests) {
+        if (requests == null || requests.isEmpty()) {
+            throw new IllegalArgumentException("Batch must contain at least one order");
+        }
+        if (requests.size() > maxBatchSize) {
+            throw new IllegalArgumentException("Batch is limited to " + maxBatchSize + " orders");
+        }
+        User user = currentUser();
+
+        BatchOrderResponse.Result[] results = new BatchOrderResponse.Result[requests.size()];
+        List<Map<Long, Integer>> quantities = new ArrayList<>(requests.size());
+        Set<Long> productIds = new TreeSet<>();
+        for (int i = 0; i < requests.size(); i++) {
+            try {
+                Map<Long, Integer> orderQuantities = validateItems(requests.get(i));
+                quantities.add(orderQuantities);
+                productIds.addAll(orderQuantities.keySet());
+                cartSize.record(orderQuantities.size());
+            } catch (IllegalArgumentException e) {
+                quantities.add(null);
+                results[i] = BatchOrderResponse.Result.rejected(i, e.getMessage());
+            }
+        }
+
+        Map<Long, Product> products = new HashMap<>(productIds.size() * 2);
+        Map<Long, Integer> available = new HashMap<>(productIds.size() * 2);
+        if (!productIds.isEmpty()) {
+            for (Product product : productRepository.findAllByIdForUpdate(productIds)) {
+                products.put(product.getId(), product);
+                available.put(product.getId(), product.getStock());
+            }
+        }
+
+        List<Order> orders = new ArrayList<>();
+        List<Integer> placedIndexes = new ArrayList<>();
+        for (int i = 0; i < requests.size(); i++) {
+            if (quantities.get(i) == null) {
+                continue;
+            }
+            String problem = allocate(quantities.get(i), available);
+            if (problem != null) {
+                results[i] = BatchOrderResponse.Result.rejected(i, problem);
+            } else {
+                orders.add(buildOrder(user, requests.get(i), products));
+                placedIndexes.add(i);
+            }
+        }
+
+        // The rows are locked, so the new stock is written back by dirty checking, batched at flush
+        for (Product product : products.values()) {
+            product.setStock(available.get(product.getId()));
+        }
+        List<Order> saved = orderRepository.saveAll(orders);
+        for (int k = 0; k < saved.size(); k++) {
+            int index = placedIndexes.get(k);
+            results[index] = BatchOrderResponse.Result.placed(index, OrderResponse.from(saved.get(k)));
+            outbox.enqueue(OrderPlacedEvent.TYPE, saved.get(k).getId(), OrderPlacedEvent.from(saved.get(k)));
+        }
+        return new BatchOrderResponse(List.of(results));
+    }
+
+    /**
+     * One page of the user's order history, newest first, using keyset pagination on
+     * {@code (orderDate, id)}. Rows are projected straight into {@link OrderSummary}, so no
+     * entities are loaded. Read-only: Spring switches the Hibernate session to manual flush,
+     * so no dirty checking or DML happens on this path.
+     *
+     * @param cursor {@code nextCursor} of the previous page, or {@code null} for the first page
+     * @param size   requested page size, capped at {@code orders.page.max-size}
+     */
+    @Transactional(readOnly = true)
+    public OrderPage<OrderSummary> getUserOrders(String cursor, Integer size) {
+        return timed("orders.read", "list", () -> findSummaries(cursor, size));
+    }
+
+    private OrderPage<OrderSummary> findSummaries(String cursor, Integer size) {
+        User user = currentUser();
+        int pageSize = resolvePageSize(size);
+        // One extra row tells whether another page follows, without a count query
+        Pageable limit = PageRequest.of(0, pageSize + 1);
+
+        List<OrderSummary> orders;
+        if (cursor == null || cursor.isBlank()) {
+            orders = orderRepository.findSummariesByUserId(user.getId(), limit);
+        } else {
+            OrderCursor after = OrderCursor.decode(cursor);
+            orders = orderRepository.findSummariesByUserIdAfter(user.getId(), after.getOrderDate(), after.getId(), limit);
+        }
+
+        String nextCursor = null;
+        if (orders.size() > pageSize) {
+            orders = orders.subList(0, pageSize);
+            OrderSummary last = orders.get(pageSize - 1);
+            nextCursor = new OrderCursor(last.getOrderDate(), last.getId()).encode();
+        }
+        return new OrderPage<>(orders, nextCursor);
+    }
+
+    /**
+     * Same page as {@link #getUserOrders(String, Integer)}, with every order expanded to its items.
+     * The page is resolved on summaries first, then all its orders, items and products are loaded
+     * with one entity-graph query: two queries per page whatever its size.
+     */
+    @Transactional(readOnly = true)
+    public OrderPage<OrderResponse> getUserOrdersWithItems(String cursor, Integer size) {
+        return timed("orders.read", "list_items", () -> findWithItems(cursor, size));
+    }
+
+    private OrderPage<OrderResponse> findWithItems(String cursor, Integer size) {
+        OrderPage<OrderSummary> page = findSummaries(cursor, size);
+        if (page.getItems().isEmpty()) {
+            return new OrderPage<>(List.of(), page.getNextCursor());
+        }
+
+        List<Long> ids = new ArrayList<>(page.getItems().size());
+        for (OrderSummary summary : page.getItems()) {
+            ids.add(summary.getId());
+        }
+
+        List<OrderResponse> orders = new ArrayList<>(ids.size());
+        for (Order order : orderRepository.findWithItemsByIdIn(ids)) {
+            orders.add(OrderResponse.from(order));
+        }
+        return new OrderPage<>(orders, page.getNextCursor());
+    }
+
+    /**
+     * ✅ Fetch one specific order for the authenticated user, read-only. Items and products
+     * come with the order in a single fetch-join query.
+     */
+    @Transactional(readOnly = true)
+    public OrderResponse getOrderById(Long orderId) {
+        return timed("orders.read", "get", () -> findOrder(orderId));
+    }
+
+    private OrderResponse findOrder(Long orderId) {
+        User user = currentUser();
+
+        Order order = orderRepository.findWithItemsById(orderId)
+                .orElseThrow(() -> new RuntimeException("Order not found"));
+
+        if (!order.getUser().getId().equals(user.getId())) {
+            throw new RuntimeException("Access denied: not your order");
+        }
+
+        return OrderResponse.from(order);
+    }
+
+    /**
+     * Runs {@code action} under the timer {@code name}, tagged with its outcome and, for reads, the operation.
+     */
+    private <T> T timed(String name, String operation, Supplier<T> action) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "failure";
+        try {
+            T result = action.get();
+            outcome = "success";
+            return result;
+        } finally {
+            sample.stop(operation == null
+                    ? meterRegistry.timer(name, "outcome", outcome)
+                    : meterRegistry.timer(name, "operation", operation, "outcome", outcome));
+        }
+    }
+
+    private int resolvePageSize(Integer size) {
+        if (size == null) {
+            return defaultPageSize;
+        }
+        if (size <= 0) {
+            throw new IllegalArgumentException("Page size must be positive");
+        }
+        return Math.min(size, maxPageSize);
+    }
+
+    /**
+     * Resolves the authenticated user. With stateless authentication the id from the token is used
+     * as a reference without a query; otherwise the user comes from the cache, keyed by email.
+     */
+    private User currentUser() {
+        Long userId = CurrentUser.id();
+        if (userId != null) {
+            return userRepository.getReferenceById(userId);
+        }
+        return userCache.findByEmail(CurrentUser.email())
                 .orElseThrow(() -> new RuntimeException("User not found"));
+    }
+
+    private Map<Long, Integer> validateItems(OrderRequest request) {
+        if (request == null || request.getItems() == null || request.getItems().isEmpty()) {
+            throw new IllegalArgumentException("Order must contain at least one item");
+        }
+        return quantitiesByProduct(request.getItems());
+    }
+
+    /**
+     * Sums the requested quantity per product. The map is sorted by product id, which is the order
+     * stock rows are locked in, so concurrent checkouts over the same products cannot deadlock.
+     */
+    private Map<Long, Integer> quantitiesByProduct(List<OrderRequest.OrderItemRequest> items) {
+        Map<Long, Integer> quantities = new TreeMap<>();
+        for (OrderRequest.OrderItemRequest item : items) {
+            if (item.getProductId() == null) {
+                throw new IllegalArgumentException("Product id is required");
+            }
+            if (item.getQuantity() <= 0) {
+                throw new IllegalArgumentException("Quantity must be positive for product " + item.getProductId());
+            }
+            quantities.merge(item.getProductId(), item.getQuantity(), Integer::sum);
+        }
+        return quantities;
+    }
+
+    /**
+     * Loads every distinct product, keyed by id: cached products come from the second-level cache and
+     * the rest from batched IN queries. All unknown product ids are reported together.
+     */
+    private Map<Long, Product> loadProducts(Set<Long> productIds) {
+        Map<Long, Product> products = new HashMap<>(productIds.size() * 2);
+        for (Product product : productRepository.findAllById(productIds)) {
+            products.put(product.getId(), product);
+        }
+
+        if (products.size() != productIds.size()) {
+            List<Long> missing = new ArrayList<>();
+            for (Long id : productIds) {
+                if (!products.containsKey(id)) {
+                    missing.add(id);
+                }
+            }
+            throw new RuntimeException("Products not found: " + missing);
+        }
+        return products;
+    }
+
+    /**
+     * Takes an order's quantities out of {@code available} if every product exists and has enough
+     * stock; otherwise leaves it untouched and returns the reason.
+     */
+    private static String allocate(Map<Long, Integer> quantities, Map<Long, Integer> available) {
+        List<Long> missing = new ArrayList<>();
+        List<Long> insufficient = new ArrayList<>();
+        for (Map.Entry<Long, Integer> entry : quantities.entrySet()) {
+            Integer stock = available.get(entry.getKey());
+            if (stock == null) {
+                missing.add(entry.getKey());
+            } else if (stock < entry.getValue()) {
+                insufficient.add(entry.getKey());
+            }
+        }
+        if (!missing.isEmpty()) {
+            return "Products not found: " + missing;
+        }
+        if (!insufficient.isEmpty()) {
+            return "Insufficient stock for products: " + insufficient;
+        }
+        for (Map.Entry<Long, Integer> entry : quantities.entrySet()) {
+            available.merge(entry.getKey(), -entry.getValue(), Integer::sum);
+        }
+        return null;
+    }
 
+    /**
+     * Builds the order and its items, priced from the given products.
+     */
+    private static Order buildOrder(User user, OrderRequest request, Map<Long, Product> products) {
         Order order = new Order();
         order.setUser(user);
 
-        List<OrderItem> orderItems = new ArrayList<>();
+        List<OrderItem> orderItems = new ArrayList<>(request.getItems().size());
         double total = 0.0;
 
         for (OrderRequest.OrderItemRequest itemReq : request.getItems()) {
-            Product product = productRepository.findById(itemReq.getProductId())
-                    .orElseThrow(() -> new RuntimeException("Product not found"));
+            Product product = products.get(itemReq.getProductId());
 
             OrderItem orderItem = new OrderItem();
             orderItem.setOrder(order);
@@ -56,41 +394,23 @@ public class OrderService {
 
         order.setItems(orderItems);
         order.setTotalAmount(total);
-
-        return orderRepository.save(order);
-    }
-
-    public List<Order> getUserOrders() {
-        String email = SecurityContextHolder.getContext().getAuthentication().getName();
-        User user = userRepository.findByEmail(email)
-                .orElseThrow(() -> new RuntimeException("User not found"));
-
-        List<Order> orders = orderRepository.findByUser(user);
-
-        // Persist again (useful for syncing, or if lazy-loaded)
-        for (Order order : orders) {
-            orderRepository.save(order);
-        }
-
-        return orders;
+        return order;
     }
 
     /**
-     * ✅ Fetch one specific order for the authenticated user and persist it again.
+     * Reserves stock with one conditional update per product, in ascending id order. A failed
+     * reservation throws, which rolls back the ones already taken in this transaction.
+     * Products loaded earlier keep their pre-reservation stock in memory; they are never written back.
      */
-    public Order getOrderById(Long orderId) {
-        String email = SecurityContextHolder.getContext().getAuthentication().getName();
-        User user = userRepository.findByEmail(email)
-                .orElseThrow(() -> new RuntimeException("User not found"));
-
-        Order order = orderRepository.findById(orderId)
-                .orElseThrow(() -> new RuntimeException("Order not found"));
-
-        if (!order.getUser().getId().equals(user.getId())) {
-            throw new RuntimeException("Access denied: not your order");
+    private void reserveStock(Map<Long, Integer> quantities) {
+        List<Long> insufficient = new ArrayList<>();
+        for (Map.Entry<Long, Integer> entry : quantities.entrySet()) {
+            if (productRepository.decrementStock(entry.getKey(), entry.getValue()) == 0) {
+                insufficient.add(entry.getKey());
+            }
+        }
+        if (!insufficient.isEmpty()) {
+            throw new RuntimeException("Insufficient stock for products: " + insufficient);
         }
-
-        // Re-save or update the fetched order
-        return orderRepository.save(order);
     }
 }
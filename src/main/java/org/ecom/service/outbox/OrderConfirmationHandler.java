@@ -0,0 +1,35 @@
+package org.ecom.service.outbox;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.ecom.entity.outbox.OutboxEvent;
+import org.ecom.model.order.OrderPlacedEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+/**
+ * Sends the order confirmation. There is no mail integration yet, so the confirmation is logged.
+ */
+@Component
+public class OrderConfirmationHandler implements OutboxHandler {
+
+    private static final Logger logger = LoggerFactory.getLogger(OrderConfirmationHandler.class);
+
+    private final ObjectMapper objectMapper;
+
+    public OrderConfirmationHandler(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public boolean supports(String type) {
+        return OrderPlacedEvent.TYPE.equals(type);
+    }
+
+    @Override
+    public void handle(OutboxEvent event) throws Exception {
+        OrderPlacedEvent order = objectMapper.readValue(event.getPayload(), OrderPlacedEvent.class);
+        logger.info("Order {} confirmed for user {}: {} items, total {}",
+                order.getOrderId(), order.getUserId(), order.getItems().size(), order.getTotalAmount());
+    }
+}
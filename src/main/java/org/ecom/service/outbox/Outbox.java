@@ -0,0 +1,37 @@
+package org.ecom.service.outbox;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.ecom.entity.outbox.OutboxEvent;
+import org.ecom.repository.outbox.OutboxEventRepository;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+/**
+ * Records outbox events inside the caller's transaction, so they commit or roll back with the
+ * business change that produced them.
+ */
+@Component
+public class Outbox {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final ObjectMapper objectMapper;
+
+    public Outbox(OutboxEventRepository outboxEventRepository, ObjectMapper objectMapper) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.objectMapper = objectMapper;
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void enqueue(String type, Long aggregateId, Object payload) {
+        try {
+            outboxEventRepository.save(new OutboxEvent(type, aggregateId, objectMapper.writeValueAsString(payload),
+                    LocalDateTime.now()));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize " + type + " outbox payload", e);
+        }
+    }
+}
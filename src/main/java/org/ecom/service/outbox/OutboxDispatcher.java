@@ -0,0 +1,145 @@
+package org.ecom.service.outbox;
+
+import org.ecom.entity.outbox.OutboxEvent;
+import org.ecom.repository.outbox.OutboxEventRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Drains the outbox to the {@link OutboxHandler} beans on the scheduler thread, away from the
+ * request threads that wrote the events.
+ * <p>
+ * Each poll takes at most {@code outbox.dispatch.batch-size} due events, which with the poll
+ * interval caps the rate of downstream work. Handlers run outside any transaction; the outcome of
+ * the whole batch is then written back in one transaction. A failed event is retried with
+ * exponential backoff and marked FAILED after {@code outbox.dispatch.max-attempts}.
+ * <p>
+ * Polling is not claimed per row, so run one dispatcher per database (or claim rows with
+ * {@code FOR UPDATE SKIP LOCKED} before running several).
+ */
+@Component
+public class OutboxDispatcher {
+
+    private static final Logger logger = LoggerFactory.getLogger(OutboxDispatcher.class);
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final List<OutboxHandler> handlers;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${outbox.dispatch.enabled:true}")
+    private boolean enabled = true;
+
+    @Value("${outbox.dispatch.batch-size:100}")
+    private int batchSize = 100;
+
+    @Value("${outbox.dispatch.max-attempts:10}")
+    private int maxAttempts = 10;
+
+    @Value("${outbox.dispatch.initial-backoff:1s}")
+    private Duration initialBackoff = Duration.ofSeconds(1);
+
+    @Value("${outbox.dispatch.max-backoff:10m}")
+    private Duration maxBackoff = Duration.ofMinutes(10);
+
+    @Value("${outbox.retention:7d}")
+    private Duration retention = Duration.ofDays(7);
+
+    public OutboxDispatcher(OutboxEventRepository outboxEventRepository, List<OutboxHandler> handlers,
+                            TransactionTemplate transactionTemplate) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.handlers = handlers;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    @Scheduled(fixedDelayString = "${outbox.dispatch.interval-ms:500}")
+    public void poll() {
+        if (enabled) {
+            dispatchBatch();
+        }
+    }
+
+    /**
+     * Delivers one batch of due events and returns how many were attempted.
+     */
+    public int dispatchBatch() {
+        List<OutboxEvent> due = outboxEventRepository.findDue(OutboxEvent.Status.PENDING, LocalDateTime.now(),
+                PageRequest.of(0, batchSize));
+        if (due.isEmpty()) {
+            return 0;
+        }
+
+        Map<Long, String> failures = new HashMap<>();
+        for (OutboxEvent event : due) {
+            try {
+                deliver(event);
+            } catch (Exception e) {
+                logger.warn("Outbox event {} ({}) failed on attempt {}", event.getId(), event.getType(),
+                        event.getAttempts() + 1, e);
+                failures.put(event.getId(), e.toString());
+            }
+        }
+
+        List<Long> ids = new ArrayList<>(due.size());
+        for (OutboxEvent event : due) {
+            ids.add(event.getId());
+        }
+        // Reloaded as managed entities, so the status changes go out as one batch of updates at commit
+        transactionTemplate.executeWithoutResult(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            for (OutboxEvent event : outboxEventRepository.findAllById(ids)) {
+                String error = failures.get(event.getId());
+                if (error == null) {
+                    event.markProcessed(now);
+                } else {
+                    event.markFailed(error, now, backoff(event.getAttempts() + 1), maxAttempts);
+                    if (event.getStatus() == OutboxEvent.Status.FAILED) {
+                        logger.error("Outbox event {} ({}) failed {} times, giving up: {}",
+                                event.getId(), event.getType(), event.getAttempts(), error);
+                    }
+                }
+            }
+        });
+        return due.size();
+    }
+
+    /**
+     * Removes processed events once they are older than {@code outbox.retention}.
+     */
+    @Scheduled(fixedDelayString = "${outbox.cleanup.interval-ms:3600000}")
+    public void purgeProcessed() {
+        if (enabled) {
+            Integer removed = transactionTemplate.execute(status -> outboxEventRepository.deleteProcessedBefore(
+                    OutboxEvent.Status.PROCESSED, LocalDateTime.now().minus(retention)));
+            logger.debug("Purged {} processed outbox events", removed);
+        }
+    }
+
+    /**
+     * Delay before the given attempt: initialBackoff, doubled per failed attempt, capped at maxBackoff.
+     */
+    Duration backoff(int attempt) {
+        int doublings = Math.min(attempt - 1, 30);
+        Duration delay = initialBackoff.multipliedBy(1L << doublings);
+        return delay.compareTo(maxBackoff) > 0 ? maxBackoff : delay;
+    }
+
+    private void deliver(OutboxEvent event) throws Exception {
+        for (OutboxHandler handler : handlers) {
+            if (handler.supports(event.getType())) {
+                handler.handle(event);
+            }
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package org.ecom.service.outbox;
+
+import org.ecom.entity.outbox.OutboxEvent;
+
+/**
+ * Consumer of outbox events, discovered as a Spring bean. Delivery is at least once: an event is
+ * retried until every handler that supports it succeeds, so handlers must tolerate duplicates.
+ */
+public interface OutboxHandler {
+
+    boolean supports(String type);
+
+    void handle(OutboxEvent event) throws Exception;
+}
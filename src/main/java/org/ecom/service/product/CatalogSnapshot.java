@@ -0,0 +1,129 @@
+package org.ecom.service.product;
+
+import org.ecom.model.product.ProductDto;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Immutable, versioned view of the whole catalog. Loaded from the database or derived from the
+ * previous version, then shared by all readers without locking until {@link ProductCatalog} swaps
+ * in the next version.
+ */
+public final class CatalogSnapshot {
+
+    private final long version;
+    private final Instant builtAt;
+    private final List<ProductDto> products;
+    // Ids of `products` in the same order, for binary search; the facet index serves category lookups
+    private final long[] ids;
+    private final ProductFacetIndex facets;
+
+    CatalogSnapshot(long version, Instant builtAt, List<ProductDto> products) {
+        List<ProductDto> sorted = new ArrayList<>(products);
+        sorted.sort(Comparator.comparing(ProductDto::getId));
+
+        long[] sortedIds = new long[sorted.size()];
+        for (int i = 0; i < sortedIds.length; i++) {
+            sortedIds[i] = sorted.get(i).getId();
+        }
+
+        this.version = version;
+        this.builtAt = builtAt;
+        this.products = Collections.unmodifiableList(sorted);
+        this.ids = sortedIds;
+        this.facets = ProductFacetIndex.build(this.products);
+    }
+
+    /**
+     * A copy with the event's products replaced, added or removed, built from memory. The copy keeps
+     * {@link #getBuiltAt()}, which records the last full load from the database.
+     */
+    CatalogSnapshot apply(long nextVersion, ProductsChangedEvent event) {
+        Set<Long> removed = new HashSet<>(event.getRemoved());
+        Map<Long, ProductDto> upserted = new LinkedHashMap<>();
+        for (ProductDto product : event.getUpserted()) {
+            if (!removed.contains(product.getId())) {
+                upserted.put(product.getId(), product);
+            }
+        }
+
+        List<ProductDto> next = new ArrayList<>(products.size() + upserted.size());
+        for (ProductDto product : products) {
+            if (removed.contains(product.getId())) {
+                continue;
+            }
+            ProductDto replacement = upserted.remove(product.getId());
+            next.add(replacement != null ? replacement : product);
+        }
+        // New products go last; the list is then nearly sorted, which the sort handles in linear time
+        next.addAll(upserted.values());
+        return new CatalogSnapshot(nextVersion, builtAt, next);
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public Instant getBuiltAt() {
+        return builtAt;
+    }
+
+    /**
+     * All products, ordered by id.
+     */
+    public List<ProductDto> getProducts() {
+        return products;
+    }
+
+    public ProductDto getProduct(Long id) {
+        int index = id == null ? -1 : Arrays.binarySearch(ids, id);
+        return index >= 0 ? products.get(index) : null;
+    }
+
+    /**
+     * Products of a category (case-insensitive), ordered by id.
+     */
+    public List<ProductDto> getByCategory(String category) {
+        if (category == null) {
+            return List.of();
+        }
+        int[] rows = facets.categoryRows(category);
+        return new AbstractList<>() {
+            @Override
+            public ProductDto get(int index) {
+                return products.get(rows[index]);
+            }
+
+            @Override
+            public int size() {
+                return rows.length;
+            }
+        };
+    }
+
+    /**
+     * Columnar index over {@link #getProducts()}; its rows are indexes into that list.
+     */
+    public ProductFacetIndex getFacets() {
+        return facets;
+    }
+
+    public int size() {
+        return products.size();
+    }
+
+    boolean isOlderThan(Duration maxStaleness, Instant now) {
+        return builtAt.plus(maxStaleness).isBefore(now);
+    }
+}
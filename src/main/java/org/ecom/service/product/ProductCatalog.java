@@ -0,0 +1,170 @@
+package org.ecom.service.product;
+
+import jakarta.annotation.PreDestroy;
+import org.ecom.entity.product.Product;
+import org.ecom.model.product.ProductDto;
+import org.ecom.repository.product.ProductRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Serves catalog reads from an in-memory {@link CatalogSnapshot}.
+ * <p>
+ * Reads only dereference the current snapshot and never block or query the database once it is
+ * warm. Product changes are applied to a copy of the current snapshot as their events arrive,
+ * without touching the database. Full loads with {@code findAll} happen only at startup, after a
+ * bulk import, and in the background once the snapshot is older than
+ * {@code catalog.snapshot.max-staleness}. That last reload is needed because checkouts change stock
+ * without publishing events, so snapshot stock can lag checkouts by up to that staleness. Order
+ * placement always checks stock against the database.
+ */
+@Service
+public class ProductCatalog {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProductCatalog.class);
+
+    private final ProductRepository productRepository;
+    private final Duration maxStaleness;
+    private final AtomicReference<CatalogSnapshot> current = new AtomicReference<>();
+    private final AtomicBoolean refreshPending = new AtomicBoolean();
+    private final ReentrantLock buildLock = new ReentrantLock();
+    private final ExecutorService refresher = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "catalog-refresh");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public ProductCatalog(ProductRepository productRepository,
+                          @Value("${catalog.snapshot.max-staleness:30s}") Duration maxStaleness) {
+        this.productRepository = productRepository;
+        this.maxStaleness = maxStaleness;
+    }
+
+    public CatalogSnapshot snapshot() {
+        CatalogSnapshot snapshot = current.get();
+        if (snapshot == null) {
+            return initialSnapshot();
+        }
+        if (snapshot.isOlderThan(maxStaleness, Instant.now())) {
+            scheduleRefresh();
+        }
+        return snapshot;
+    }
+
+    /**
+     * Marks the current snapshot as outdated; readers keep using it until the rebuild is swapped in.
+     */
+    public void invalidate() {
+        scheduleRefresh();
+    }
+
+    /**
+     * Runs before the other product listeners, so they already see the updated snapshot.
+     */
+    @EventListener
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void onProductsChanged(ProductsChangedEvent event) {
+        if (event.isReload()) {
+            refresh();
+        } else {
+            apply(event);
+        }
+    }
+
+    /**
+     * Swaps in a copy of the current snapshot with the change applied. Before the first snapshot is
+     * built there is nothing to patch; the initial load already reads the committed change.
+     */
+    private void apply(ProductsChangedEvent event) {
+        buildLock.lock();
+        try {
+            CatalogSnapshot snapshot = current.get();
+            if (snapshot != null) {
+                CatalogSnapshot next = snapshot.apply(snapshot.getVersion() + 1, event);
+                current.set(next);
+                logger.debug("Catalog snapshot v{} applied {} upserts and {} removals", next.getVersion(),
+                        event.getUpserted().size(), event.getRemoved().size());
+            }
+        } finally {
+            buildLock.unlock();
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        refresh();
+    }
+
+    /**
+     * Rebuilds the snapshot from the database and swaps it in.
+     */
+    public CatalogSnapshot refresh() {
+        buildLock.lock();
+        try {
+            CatalogSnapshot previous = current.get();
+            List<Product> products = productRepository.findAll();
+            List<ProductDto> dtos = new ArrayList<>(products.size());
+            for (Product product : products) {
+                dtos.add(ProductDto.from(product));
+            }
+            CatalogSnapshot next = new CatalogSnapshot(previous == null ? 1 : previous.getVersion() + 1, Instant.now(), dtos);
+            current.set(next);
+            logger.debug("Catalog snapshot v{} built with {} products", next.getVersion(), next.size());
+            return next;
+        } finally {
+            buildLock.unlock();
+        }
+    }
+
+    /**
+     * Cold start: the first reader builds the snapshot, concurrent ones wait for it instead of building their own.
+     */
+    private CatalogSnapshot initialSnapshot() {
+        buildLock.lock();
+        try {
+            CatalogSnapshot snapshot = current.get();
+            return snapshot != null ? snapshot : refresh();
+        } finally {
+            buildLock.unlock();
+        }
+    }
+
+    private void scheduleRefresh() {
+        if (refreshPending.compareAndSet(false, true)) {
+            refresher.execute(() -> {
+                // Cleared before reading, so a change committed during this rebuild schedules another one
+                refreshPending.set(false);
+                try {
+                    refresh();
+                } catch (RuntimeException e) {
+                    logger.warn("Catalog refresh failed, keeping snapshot v{}", versionOf(current.get()), e);
+                }
+            });
+        }
+    }
+
+    private static long versionOf(CatalogSnapshot snapshot) {
+        return snapshot == null ? 0 : snapshot.getVersion();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        refresher.shutdownNow();
+    }
+}
@@ -0,0 +1,283 @@
+package org.ecom.service.product;
+
+import org.ecom.model.product.ProductDto;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+/**
+ * Columnar view of a catalog for range filters and category facet counts.
+ * <p>
+ * Row {@code r} is the r-th product of the list it was built from. Prices are stored as cents in a
+ * {@code long[]} and categories dictionary-encoded in an {@code int[]}, with one bitset per category
+ * and one each for in-stock and priced rows, so a filter is a loop over primitive arrays and 64-row
+ * words instead of a walk over boxed product fields. Products without a price match only when no
+ * price bound is given. The index is held next to the product list, not instead of it: it adds about
+ * 12 bytes per product plus two bits per product and one per product and category, and its category
+ * bitsets also serve category listings. Large catalogs are scanned in parallel chunks of whole words.
+ * Instances are immutable and built once per {@link CatalogSnapshot}.
+ */
+public final class ProductFacetIndex {
+
+    public static final int PARALLEL_THRESHOLD = 100_000;
+
+    // Multiple of 64 so chunks never share a bitset word
+    private static final int CHUNK_ROWS = 1 << 16;
+
+    private final int rows;
+    private final long[] priceCents;
+    private final int[] categoryCodes;
+    private final String[] categoryNames;
+    private final Map<String, Integer> codesByKey;
+    private final long[][] categoryBits;
+    private final long[] inStockBits;
+    private final long[] pricedBits;
+
+    private ProductFacetIndex(List<ProductDto> products) {
+        rows = products.size();
+        priceCents = new long[rows];
+        categoryCodes = new int[rows];
+        inStockBits = new long[words(rows)];
+        pricedBits = new long[words(rows)];
+
+        Map<String, Integer> codes = new HashMap<>();
+        String[] names = new String[8];
+        for (int row = 0; row < rows; row++) {
+            ProductDto product = products.get(row);
+            if (product.getPrice() != null) {
+                priceCents[row] = toCents(product.getPrice());
+                pricedBits[row >>> 6] |= 1L << row;
+            }
+            if (product.getStock() != null && product.getStock() > 0) {
+                inStockBits[row >>> 6] |= 1L << row;
+            }
+            String key = categoryKey(product.getCategory());
+            Integer code = codes.get(key);
+            if (code == null) {
+                code = codes.size();
+                codes.put(key, code);
+                if (code == names.length) {
+                    names = Arrays.copyOf(names, code * 2);
+                }
+                names[code] = product.getCategory();
+            }
+            categoryCodes[row] = code;
+        }
+        categoryNames = Arrays.copyOf(names, codes.size());
+        codesByKey = codes;
+
+        categoryBits = new long[categoryNames.length][words(rows)];
+        for (int row = 0; row < rows; row++) {
+            categoryBits[categoryCodes[row]][row >>> 6] |= 1L << row;
+        }
+    }
+
+    public static ProductFacetIndex build(List<ProductDto> products) {
+        return new ProductFacetIndex(products);
+    }
+
+    public int size() {
+        return rows;
+    }
+
+    /**
+     * Rows of one category (case-insensitive), in ascending order.
+     */
+    public int[] categoryRows(String category) {
+        Integer code = codesByKey.get(categoryKey(category));
+        if (code == null) {
+            return new int[0];
+        }
+        long[] bits = categoryBits[code];
+        int count = 0;
+        for (long word : bits) {
+            count += Long.bitCount(word);
+        }
+        int[] result = new int[count];
+        int found = 0;
+        for (int word = 0; word < bits.length; word++) {
+            for (long remaining = bits[word]; remaining != 0; remaining &= remaining - 1) {
+                result[found++] = (word << 6) + Long.numberOfTrailingZeros(remaining);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Filters by price range, stock and categories.
+     * <p>
+     * Category counts are computed with every filter except the category one, so a client can show
+     * how many products each category would add to the current selection.
+     *
+     * @param minPrice    inclusive lower bound, or null; a bound excludes products without a price
+     * @param maxPrice    inclusive upper bound, or null
+     * @param categories  case-insensitive category names; null or empty means all
+     */
+    public Result filter(Double minPrice, Double maxPrice, boolean inStockOnly, Collection<String> categories) {
+        long min = minPrice != null ? toCents(minPrice) : Long.MIN_VALUE;
+        long max = maxPrice != null ? toCents(maxPrice) : Long.MAX_VALUE;
+        boolean priceBounded = minPrice != null || maxPrice != null;
+        long[][] selected = selectedCategories(categories);
+
+        long[] matches = new long[words(rows)];
+        int chunks = (rows + CHUNK_ROWS - 1) / CHUNK_ROWS;
+        IntStream chunkIds = IntStream.range(0, chunks);
+        if (rows >= PARALLEL_THRESHOLD) {
+            chunkIds = chunkIds.parallel();
+        }
+        // Each chunk writes its own words of `matches` and returns its own counts, merged afterwards
+        int[] counts = chunkIds
+                .mapToObj(chunk -> scan(chunk * CHUNK_ROWS, Math.min(rows, (chunk + 1) * CHUNK_ROWS),
+                        min, max, priceBounded, inStockOnly, selected, matches))
+                .reduce(new int[categoryNames.length + 1], ProductFacetIndex::sum);
+
+        Map<String, Integer> facets = new LinkedHashMap<>();
+        Integer[] order = new Integer[categoryNames.length];
+        for (int code = 0; code < order.length; code++) {
+            order[code] = code;
+        }
+        Arrays.sort(order, (a, b) -> Integer.compare(counts[b], counts[a]));
+        for (int code : order) {
+            if (categoryNames[code] != null && counts[code] > 0) {
+                facets.put(categoryNames[code], counts[code]);
+            }
+        }
+        return new Result(matches, counts[categoryNames.length], facets);
+    }
+
+    /**
+     * Scans rows [from, to): returns per-category counts, with the number of full matches in the last slot.
+     */
+    private int[] scan(int from, int to, long min, long max, boolean priceBounded, boolean inStockOnly,
+                       long[][] selected, long[] matches) {
+        int[] counts = new int[categoryNames.length + 1];
+        int matched = 0;
+        for (int word = from >>> 6, lastWord = (to - 1) >>> 6; word <= lastWord; word++) {
+            long candidates = inStockOnly ? inStockBits[word] : -1L;
+            if (priceBounded) {
+                candidates &= pricedBits[word];
+            }
+            int base = word << 6;
+            int end = Math.min(to, base + 64);
+            if (end - base < 64) {
+                candidates &= (1L << (end - base)) - 1;
+            }
+            long inRange = 0;
+            for (int row = base; row < end; row++) {
+                long price = priceCents[row];
+                if (price >= min && price <= max) {
+                    inRange |= 1L << row;
+                }
+            }
+            candidates &= inRange;
+            if (candidates == 0) {
+                continue;
+            }
+            for (long bits = candidates; bits != 0; bits &= bits - 1) {
+                counts[categoryCodes[base + Long.numberOfTrailingZeros(bits)]]++;
+            }
+            long selectedBits = candidates;
+            if (selected != null) {
+                long anyCategory = 0;
+                for (long[] category : selected) {
+                    anyCategory |= category[word];
+                }
+                selectedBits &= anyCategory;
+            }
+            matches[word] = selectedBits;
+            matched += Long.bitCount(selectedBits);
+        }
+        counts[categoryNames.length] = matched;
+        return counts;
+    }
+
+    private long[][] selectedCategories(Collection<String> categories) {
+        if (categories == null || categories.isEmpty()) {
+            return null;
+        }
+        return categories.stream()
+                .map(category -> codesByKey.get(categoryKey(category)))
+                .filter(code -> code != null)
+                .distinct()
+                .map(code -> categoryBits[code])
+                .toArray(long[][]::new);
+    }
+
+    private static int[] sum(int[] left, int[] right) {
+        int[] total = new int[left.length];
+        for (int i = 0; i < total.length; i++) {
+            total[i] = left[i] + right[i];
+        }
+        return total;
+    }
+
+    private static long toCents(double price) {
+        return Math.round(price * 100);
+    }
+
+    private static int words(int rows) {
+        return (rows + 63) >>> 6;
+    }
+
+    private static String categoryKey(String category) {
+        return category == null ? "" : category.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Matching rows as a bitset over the rows of the index, plus facet counts.
+     */
+    public static final class Result {
+
+        private final long[] matches;
+        private final int total;
+        private final Map<String, Integer> categoryCounts;
+
+        private Result(long[] matches, int total, Map<String, Integer> categoryCounts) {
+            this.matches = matches;
+            this.total = total;
+            this.categoryCounts = categoryCounts;
+        }
+
+        public int getTotal() {
+            return total;
+        }
+
+        /**
+         * Products per category under the price and stock filters, most populated first.
+         */
+        public Map<String, Integer> getCategoryCounts() {
+            return categoryCounts;
+        }
+
+        /**
+         * Row numbers of up to {@code limit} matches, skipping the first {@code offset}, in row order.
+         */
+        public int[] rows(int offset, int limit) {
+            int[] rows = new int[Math.max(0, Math.min(limit, total - offset))];
+            int skipped = 0;
+            int found = 0;
+            for (int word = 0; word < matches.length && found < rows.length; word++) {
+                long bits = matches[word];
+                int count = Long.bitCount(bits);
+                if (skipped + count <= offset) {
+                    skipped += count;
+                    continue;
+                }
+                for (; bits != 0 && found < rows.length; bits &= bits - 1) {
+                    if (skipped < offset) {
+                        skipped++;
+                    } else {
+                        rows[found++] = (word << 6) + Long.numberOfTrailingZeros(bits);
+                    }
+                }
+            }
+            return rows;
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package org.ecom.service.product;
+
+import java.util.Locale;
+
+public enum ProductImportFormat {
+
+    /** Header line with sku, name, description, price, stock, category, imageUrl columns. */
+    CSV,
+    /** One JSON object per line with the same field names. */
+    NDJSON;
+
+    /**
+     * Resolves an explicit format name, falling back to the content type or file name.
+     */
+    public static ProductImportFormat resolve(String format, String contentTypeOrFileName) {
+        if (format != null && !format.isBlank()) {
+            try {
+                return valueOf(format.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Unsupported import format: " + format);
+            }
+        }
+        String hint = contentTypeOrFileName == null ? "" : contentTypeOrFileName.toLowerCase(Locale.ROOT);
+        if (hint.contains("csv")) {
+            return CSV;
+        }
+        if (hint.contains("ndjson") || hint.contains("jsonl") || hint.contains("json")) {
+            return NDJSON;
+        }
+        throw new IllegalArgumentException("Cannot tell the import format, pass format=csv or format=ndjson");
+    }
+}
@@ -0,0 +1,189 @@
+package org.ecom.service.product;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Turns one input line into a validated {@link Row}; invalid lines throw {@link IllegalArgumentException}
+ * with the reason reported back to the caller.
+ */
+abstract class ProductImportParser {
+
+    static final int MAX_SKU_LENGTH = 64;
+
+    abstract Row parse(String line);
+
+    static ProductImportParser csv(String headerLine) {
+        return new Csv(headerLine);
+    }
+
+    static ProductImportParser ndjson(ObjectMapper objectMapper) {
+        return new NdJson(objectMapper);
+    }
+
+    /**
+     * Builds a row from named fields, applying the same rules as single product writes plus a required SKU.
+     */
+    static Row toRow(Function<String, String> field) {
+        String sku = trimToNull(field.apply("sku"));
+        if (sku == null) {
+            throw new IllegalArgumentException("sku is required");
+        }
+        if (sku.length() > MAX_SKU_LENGTH) {
+            throw new IllegalArgumentException("sku is longer than " + MAX_SKU_LENGTH + " characters");
+        }
+        String name = trimToNull(field.apply("name"));
+        if (name == null) {
+            throw new IllegalArgumentException("name is required");
+        }
+        double price = parse(field.apply("price"), "price", Double::parseDouble);
+        if (price < 0 || Double.isNaN(price) || Double.isInfinite(price)) {
+            throw new IllegalArgumentException("price must be zero or more");
+        }
+        int stock = parse(field.apply("stock"), "stock", Integer::parseInt);
+        if (stock < 0) {
+            throw new IllegalArgumentException("stock must be zero or more");
+        }
+        return new Row(sku, name, trimToNull(field.apply("description")), price, stock,
+                trimToNull(field.apply("category")), trimToNull(field.apply("imageUrl")));
+    }
+
+    private static <T> T parse(String value, String fieldName, Function<String, T> parser) {
+        String trimmed = trimToNull(value);
+        if (trimmed == null) {
+            throw new IllegalArgumentException(fieldName + " is required");
+        }
+        try {
+            return parser.apply(trimmed);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(fieldName + " is not a number: '" + trimmed + "'");
+        }
+    }
+
+    private static String trimToNull(String value) {
+        if (value == null) {
+            return null;
+        }
+        String trimmed = value.trim();
+        return trimmed.isEmpty() ? null : trimmed;
+    }
+
+    /**
+     * RFC 4180 fields on a single line: comma separated, optionally double-quoted with "" as an escaped quote.
+     */
+    static List<String> splitCsv(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c != '"') {
+                    field.append(c);
+                } else if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else {
+                    quoted = false;
+                }
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c == '"' && field.length() == 0) {
+                quoted = true;
+            } else {
+                field.append(c);
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("unterminated quoted field");
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    private static final class Csv extends ProductImportParser {
+
+        private final Map<String, Integer> columns = new HashMap<>();
+
+        Csv(String headerLine) {
+            if (headerLine == null) {
+                throw new IllegalArgumentException("CSV input is empty, a header line is required");
+            }
+            List<String> header = splitCsv(headerLine.startsWith("\uFEFF") ? headerLine.substring(1) : headerLine);
+            for (int i = 0; i < header.size(); i++) {
+                String column = header.get(i).trim().toLowerCase(Locale.ROOT).replace("_", "");
+                columns.put(column.equals("imageurl") ? "imageUrl" : column, i);
+            }
+            for (String required : List.of("sku", "name", "price", "stock")) {
+                if (!columns.containsKey(required)) {
+                    throw new IllegalArgumentException("CSV header is missing the '" + required + "' column");
+                }
+            }
+        }
+
+        @Override
+        Row parse(String line) {
+            List<String> values = splitCsv(line);
+            return toRow(name -> {
+                Integer index = columns.get(name);
+                return index != null && index < values.size() ? values.get(index) : null;
+            });
+        }
+    }
+
+    private static final class NdJson extends ProductImportParser {
+
+        private final ObjectMapper objectMapper;
+
+        NdJson(ObjectMapper objectMapper) {
+            this.objectMapper = objectMapper;
+        }
+
+        @Override
+        Row parse(String line) {
+            JsonNode node;
+            try {
+                node = objectMapper.readTree(line);
+            } catch (JsonProcessingException e) {
+                throw new IllegalArgumentException("invalid JSON: " + e.getOriginalMessage());
+            }
+            if (!node.isObject()) {
+                throw new IllegalArgumentException("expected a JSON object");
+            }
+            return toRow(name -> {
+                JsonNode value = node.get(name);
+                return value == null || value.isNull() ? null : value.asText();
+            });
+        }
+    }
+
+    static final class Row {
+
+        final String sku;
+        final String name;
+        final String description;
+        final double price;
+        final int stock;
+        final String category;
+        final String imageUrl;
+
+        Row(String sku, String name, String description, double price, int stock, String category, String imageUrl) {
+            this.sku = sku;
+            this.name = name;
+            this.description = description;
+            this.price = price;
+            this.stock = stock;
+            this.category = category;
+            this.imageUrl = imageUrl;
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package org.ecom.service.product;
+
+import org.ecom.model.product.ProductImportReport;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Command-line import against the application's DataSource:
+ * <pre>
+ * java -jar app.jar --spring.main.web-application-type=none --import.products.file=feed.csv
+ * </pre>
+ * Progress is checkpointed to {@code <file>.checkpoint}; running the same command again after a
+ * failure resumes from it, and the file is removed once the import completes.
+ */
+@Component
+@ConditionalOnProperty("import.products.file")
+public class ProductImportRunner implements ApplicationRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProductImportRunner.class);
+
+    private final ProductImportService productImportService;
+    private final ConfigurableApplicationContext context;
+    private final Path file;
+    private final String format;
+    private final boolean exitWhenDone;
+
+    public ProductImportRunner(ProductImportService productImportService,
+                               ConfigurableApplicationContext context,
+                               @Value("${import.products.file}") Path file,
+                               @Value("${import.products.format:}") String format,
+                               @Value("${import.products.exit:true}") boolean exitWhenDone) {
+        this.productImportService = productImportService;
+        this.context = context;
+        this.file = file;
+        this.format = format;
+        this.exitWhenDone = exitWhenDone;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws IOException {
+        Path checkpointFile = file.resolveSibling(file.getFileName() + ".checkpoint");
+        long resumeAfterLine = Files.exists(checkpointFile)
+                ? Long.parseLong(Files.readString(checkpointFile).trim())
+                : 0;
+        if (resumeAfterLine > 0) {
+            logger.info("Resuming import of {} after line {}", file, resumeAfterLine);
+        }
+
+        ProductImportReport report;
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            report = productImportService.importProducts(reader,
+                    ProductImportFormat.resolve(format, file.getFileName().toString()),
+                    resumeAfterLine, line -> writeCheckpoint(checkpointFile, line));
+        }
+        for (ProductImportReport.RejectedRow row : report.getRejected()) {
+            logger.warn("Rejected line {}: {}", row.getLine(), row.getReason());
+        }
+        if (report.isCompleted()) {
+            Files.deleteIfExists(checkpointFile);
+        } else {
+            logger.error("Import of {} failed after line {}: {}", file, report.getCheckpointLine(), report.getError());
+        }
+        if (exitWhenDone) {
+            int exitCode = SpringApplication.exit(context, () -> report.isCompleted() ? 0 : 1);
+            System.exit(exitCode);
+        }
+    }
+
+    private static void writeCheckpoint(Path checkpointFile, long line) {
+        try {
+            Files.writeString(checkpointFile, Long.toString(line));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot write import checkpoint " + checkpointFile, e);
+        }
+    }
+}
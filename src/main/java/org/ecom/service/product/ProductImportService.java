@@ -0,0 +1,177 @@
+package org.ecom.service.product;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.ecom.model.product.ProductImportReport;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongConsumer;
+
+/**
+ * Streams a CSV or NDJSON product feed into the products table.
+ * <p>
+ * Input is read line by line and only one chunk is held in memory. Each chunk is upserted on
+ * {@code sku} in its own transaction with two JDBC batches: an UPDATE for every row, then an
+ * INSERT for the rows no UPDATE matched. Rows failing validation are reported and skipped.
+ * After each commit the last consumed line number is handed to the checkpoint callback, and an
+ * interrupted import can be resumed after that line. Caches are reloaded once at the end.
+ * <p>
+ * Relies on the driver returning per-row update counts from batches (H2 does; with MySQL, do not
+ * enable {@code rewriteBatchedStatements} for this DataSource).
+ */
+@Service
+public class ProductImportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProductImportService.class);
+
+    private static final String UPDATE_SQL = "update products set name = ?, description = ?, price = ?, stock = ?, "
+            + "category = ?, image_url = ? where sku = ?";
+    private static final String INSERT_SQL = "insert into products (sku, name, description, price, stock, category, "
+            + "image_url) values (?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ProductSecondLevelCache productCache;
+    private final int chunkSize;
+    // Two imports inserting the same new SKUs would fail each other's chunks on the unique constraint
+    private final ReentrantLock importLock = new ReentrantLock();
+
+    public ProductImportService(JdbcTemplate jdbcTemplate,
+                                TransactionTemplate transactionTemplate,
+                                ObjectMapper objectMapper,
+                                ApplicationEventPublisher eventPublisher,
+                                ProductSecondLevelCache productCache,
+                                @Value("${import.products.chunk-size:2000}") int chunkSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.objectMapper = objectMapper;
+        this.eventPublisher = eventPublisher;
+        this.productCache = productCache;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Imports {@code source}, skipping every line up to and including {@code resumeAfterLine}.
+     * Database failures stop the import and are returned in the report, whose checkpoint then
+     * points at the last committed chunk.
+     *
+     * @param checkpoint called with the last consumed line number after each committed chunk
+     */
+    public ProductImportReport importProducts(Reader source, ProductImportFormat format, long resumeAfterLine,
+                                              LongConsumer checkpoint) throws IOException {
+        if (!importLock.tryLock()) {
+            throw new IllegalStateException("A product import is already running");
+        }
+        long started = System.nanoTime();
+        ProductImportReport report = new ProductImportReport();
+        report.setCheckpointLine(resumeAfterLine);
+        try {
+            BufferedReader reader = new BufferedReader(source, 1 << 16);
+            long lineNumber = 0;
+            ProductImportParser parser;
+            if (format == ProductImportFormat.CSV) {
+                parser = ProductImportParser.csv(reader.readLine());
+                lineNumber++;
+            } else {
+                parser = ProductImportParser.ndjson(objectMapper);
+            }
+
+            // Keyed by SKU so a feed repeating a SKU within a chunk keeps its last row
+            Map<String, ProductImportParser.Row> chunk = new LinkedHashMap<>(chunkSize * 2);
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (lineNumber <= resumeAfterLine || line.isBlank()) {
+                    continue;
+                }
+                try {
+                    ProductImportParser.Row row = parser.parse(line);
+                    chunk.remove(row.sku);
+                    chunk.put(row.sku, row);
+                } catch (IllegalArgumentException e) {
+                    report.reject(lineNumber, e.getMessage());
+                }
+                if (chunk.size() >= chunkSize) {
+                    flush(chunk.values(), lineNumber, report, checkpoint);
+                    chunk.clear();
+                }
+            }
+            report.setLinesRead(lineNumber);
+            flush(chunk.values(), lineNumber, report, checkpoint);
+            report.setCompleted(true);
+        } catch (DataAccessException e) {
+            logger.error("Product import stopped after line {}", report.getCheckpointLine(), e);
+            report.setError(e.getMostSpecificCause().getMessage());
+        } finally {
+            report.setDurationMs((System.nanoTime() - started) / 1_000_000);
+            importLock.unlock();
+            if (report.getInserted() + report.getUpdated() > 0) {
+                eventPublisher.publishEvent(ProductsChangedEvent.reloaded());
+            }
+        }
+        logger.info("Product import finished: {} inserted, {} updated, {} rejected in {} ms",
+                report.getInserted(), report.getUpdated(), report.getRejectedCount(), report.getDurationMs());
+        return report;
+    }
+
+    private void flush(Collection<ProductImportParser.Row> rows, long lastLine, ProductImportReport report,
+                       LongConsumer checkpoint) {
+        if (rows.isEmpty()) {
+            if (lastLine > report.getCheckpointLine()) {
+                report.chunkCommitted(lastLine, 0, 0);
+                checkpoint.accept(lastLine);
+            }
+            return;
+        }
+        List<ProductImportParser.Row> batch = new ArrayList<>(rows);
+        int inserted = transactionTemplate.execute(status -> upsert(batch));
+        // The batches bypass Hibernate, so cached products may now hold the old price and stock
+        productCache.evictAll();
+        report.chunkCommitted(lastLine, inserted, batch.size() - inserted);
+        checkpoint.accept(lastLine);
+    }
+
+    /**
+     * Returns the number of inserted rows; the rest of the batch updated existing products.
+     */
+    private int upsert(List<ProductImportParser.Row> batch) {
+        List<Object[]> updates = new ArrayList<>(batch.size());
+        for (ProductImportParser.Row row : batch) {
+            updates.add(new Object[]{row.name, row.description, row.price, row.stock, row.category, row.imageUrl, row.sku});
+        }
+        int[] updated = jdbcTemplate.batchUpdate(UPDATE_SQL, updates);
+
+        List<Object[]> inserts = new ArrayList<>();
+        for (int i = 0; i < updated.length; i++) {
+            if (updated[i] == Statement.SUCCESS_NO_INFO) {
+                throw new IllegalStateException("JDBC driver did not report update counts for the import batch");
+            }
+            if (updated[i] == 0) {
+                ProductImportParser.Row row = batch.get(i);
+                inserts.add(new Object[]{row.sku, row.name, row.description, row.price, row.stock, row.category, row.imageUrl});
+            }
+        }
+        if (!inserts.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_SQL, inserts);
+        }
+        return inserts.size();
+    }
+}
@@ -0,0 +1,666 @@
+package org.ecom.service.product;
+
+import org.ecom.model.product.ProductDto;
+import org.ecom.model.product.ProductSearchHit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * In-memory inverted index over product name, category and description.
+ * <p>
+ * Every indexed product gets an ordinal; posting lists hold ordinals in ascending order, so
+ * multi-term queries are answered by walking the shortest list and galloping through the others.
+ * The last query token is matched as a prefix (typeahead) against the sorted term dictionary.
+ * Hits are ranked by field weight (name &gt; category &gt; description) and can be filtered by
+ * category and price range.
+ * <p>
+ * Changes are applied incrementally from {@link ProductsChangedEvent}: an update tombstones the
+ * old ordinal and appends a new one, so posting lists are append-only. A single writer appends
+ * under a lock and publishes immutable views through volatile fields; queries never lock.
+ * Tombstones go into a fresh copy of the liveness flags, published together with the new
+ * entry, so a query during an edit finds the product in either its old or its new version.
+ * Once tombstones pass a quarter of the live products, a background compaction rewrites the
+ * segment without them, renumbering ordinals; {@link #rebuild(Collection)} also starts afresh.
+ */
+@Component
+public class ProductSearchIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProductSearchIndex.class);
+
+    public static final int MAX_LIMIT = 100;
+
+    static final int NAME_WEIGHT = 3;
+    static final int CATEGORY_WEIGHT = 2;
+    static final int DESCRIPTION_WEIGHT = 1;
+
+    // Bounds the work of very short prefixes and very common terms; beyond these the ranking is best-effort
+    private static final int MAX_PREFIX_EXPANSIONS = 64;
+    private static final int MAX_CANDIDATES = 20_000;
+
+    // Compact once superseded and removed products exceed this share of the live ones (and the floor below)
+    private static final double COMPACTION_RATIO = 0.25;
+    private static final int COMPACTION_MIN_TOMBSTONES = 1_000;
+
+    // Ties go to the lower product id; ordinals change with every edit and compaction
+    private static final Comparator<ScoredDoc> WORST_FIRST = Comparator
+            .comparingInt((ScoredDoc doc) -> doc.score)
+            .thenComparing((ScoredDoc doc) -> doc.id, Comparator.reverseOrder());
+
+    private final ProductCatalog productCatalog;
+    private final Executor compactionExecutor;
+    private final AtomicBoolean compactionScheduled = new AtomicBoolean();
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private volatile Segment segment = new Segment();
+
+    /**
+     * Standalone index, filled through {@link #rebuild(Collection)} and {@link #upsert(Collection)};
+     * compactions run on the calling thread.
+     */
+    public ProductSearchIndex() {
+        this(null, Runnable::run);
+    }
+
+    @Autowired
+    public ProductSearchIndex(ProductCatalog productCatalog) {
+        this(productCatalog, Executors.newSingleThreadExecutor(task -> {
+            Thread thread = new Thread(task, "search-index-compaction");
+            thread.setDaemon(true);
+            return thread;
+        }));
+    }
+
+    ProductSearchIndex(ProductCatalog productCatalog, Executor compactionExecutor) {
+        this.productCatalog = productCatalog;
+        this.compactionExecutor = compactionExecutor;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        if (productCatalog != null) {
+            rebuild(productCatalog.snapshot().getProducts());
+        }
+    }
+
+    @EventListener
+    public void onProductsChanged(ProductsChangedEvent event) {
+        if (event.isReload()) {
+            warmUp();
+            return;
+        }
+        writeLock.lock();
+        try {
+            Segment current = segment;
+            current.remove(event.getRemoved());
+            current.remove(idsOf(event.getUpserted()));
+            current.add(event.getUpserted());
+            current.publish();
+        } finally {
+            writeLock.unlock();
+        }
+        maybeCompact();
+    }
+
+    /**
+     * Rewrites the segment without tombstoned ordinals once they pass {@link #COMPACTION_RATIO} of
+     * the live products. Writers wait for it; readers keep using the previous segment until the swap.
+     */
+    private void maybeCompact() {
+        Docs docs = segment.docs;
+        int tombstones = docs.size - docs.live;
+        if (tombstones < Math.max(COMPACTION_MIN_TOMBSTONES, docs.live * COMPACTION_RATIO)
+                || !compactionScheduled.compareAndSet(false, true)) {
+            return;
+        }
+        compactionExecutor.execute(() -> {
+            try {
+                compact();
+            } catch (RuntimeException e) {
+                logger.error("Search index compaction failed", e);
+            } finally {
+                compactionScheduled.set(false);
+            }
+        });
+    }
+
+    private void compact() {
+        writeLock.lock();
+        try {
+            Segment current = segment;
+            int before = current.size;
+            Segment compacted = current.compact();
+            compacted.publish();
+            segment = compacted;
+            logger.debug("Search index compacted from {} to {} ordinals", before, compacted.size);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Replaces the whole index; readers keep querying the previous one until it is swapped in.
+     */
+    public void rebuild(Collection<ProductDto> products) {
+        writeLock.lock();
+        try {
+            Segment fresh = new Segment();
+            fresh.add(products);
+            fresh.publish();
+            segment = fresh;
+            logger.debug("Search index built with {} products and {} terms", products.size(), fresh.terms.size());
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    public void upsert(Collection<ProductDto> products) {
+        onProductsChanged(new ProductsChangedEvent(List.copyOf(products), List.of()));
+    }
+
+    public void remove(Collection<Long> ids) {
+        onProductsChanged(new ProductsChangedEvent(List.of(), List.copyOf(ids)));
+    }
+
+    public int size() {
+        return segment.docs.live();
+    }
+
+    /**
+     * Superseded or removed entries still held until the next compaction or rebuild.
+     */
+    public int tombstones() {
+        Docs docs = segment.docs;
+        return docs.size - docs.live;
+    }
+
+    /**
+     * Returns up to {@code limit} products matching every token of {@code text}, best first.
+     *
+     * @param category optional exact category filter (case-insensitive)
+     * @param minPrice optional inclusive lower price bound
+     * @param maxPrice optional inclusive upper price bound
+     */
+    public List<ProductSearchHit> search(String text, String category, Double minPrice, Double maxPrice, int limit) {
+        if (limit <= 0) {
+            throw new IllegalArgumentException("limit must be > 0");
+        }
+        List<String> tokens = tokenize(text);
+        if (tokens.isEmpty()) {
+            return List.of();
+        }
+        Segment current = segment;
+        Docs docs = current.docs;
+
+        int categoryCode = -1;
+        if (category != null && !category.isBlank()) {
+            Integer code = current.categoryCodes.get(categoryKey(category));
+            if (code == null) {
+                return List.of();
+            }
+            categoryCode = code;
+        }
+        Filter filter = new Filter(docs, categoryCode,
+                minPrice != null ? minPrice : Double.NEGATIVE_INFINITY,
+                maxPrice != null ? maxPrice : Double.POSITIVE_INFINITY);
+
+        List<Postings.View> required = new ArrayList<>(tokens.size() - 1);
+        for (String token : tokens.subList(0, tokens.size() - 1)) {
+            Postings postings = current.terms.get(token);
+            if (postings == null || postings.view.size == 0) {
+                return List.of();
+            }
+            required.add(postings.view);
+        }
+        List<Postings.View> prefixed = expand(current, tokens.get(tokens.size() - 1));
+        if (prefixed.isEmpty()) {
+            return List.of();
+        }
+
+        int max = Math.min(limit, MAX_LIMIT);
+        PriorityQueue<ScoredDoc> top = new PriorityQueue<>(max + 1, WORST_FIRST);
+        if (required.isEmpty()) {
+            collectPrefixOnly(prefixed, filter, top, max);
+        } else {
+            collectIntersection(required, prefixed, filter, top, max);
+        }
+        return toHits(top, docs);
+    }
+
+    private static List<Postings.View> expand(Segment segment, String prefix) {
+        List<Postings.View> views = new ArrayList<>();
+        for (Postings postings : segment.terms.subMap(prefix, true, prefix + Character.MAX_VALUE, false).values()) {
+            Postings.View view = postings.view;
+            if (view.size > 0) {
+                views.add(view);
+                if (views.size() == MAX_PREFIX_EXPANSIONS) {
+                    break;
+                }
+            }
+        }
+        return views;
+    }
+
+    /**
+     * Single-token query: union of the prefix expansions, each product scored by its best matching term.
+     */
+    private static void collectPrefixOnly(List<Postings.View> prefixed, Filter filter,
+                                          PriorityQueue<ScoredDoc> top, int max) {
+        Map<Integer, Integer> scores = new HashMap<>();
+        outer:
+        for (Postings.View view : prefixed) {
+            for (int i = 0; i < view.size; i++) {
+                int doc = view.docs[i];
+                if (filter.accepts(doc)) {
+                    scores.merge(doc, (int) view.weights[i], Math::max);
+                    if (scores.size() >= MAX_CANDIDATES) {
+                        break outer;
+                    }
+                }
+            }
+        }
+        scores.forEach((doc, score) -> offer(top, filter.docs, doc, score, max));
+    }
+
+    /**
+     * Multi-token query: walk the shortest exact posting list and probe the others with monotonic cursors.
+     */
+    private static void collectIntersection(List<Postings.View> required, List<Postings.View> prefixed,
+                                            Filter filter, PriorityQueue<ScoredDoc> top, int max) {
+        required.sort(Comparator.comparingInt(view -> view.size));
+        Postings.View driver = required.get(0);
+        int[] cursors = new int[required.size()];
+        int[] prefixCursors = new int[prefixed.size()];
+        int candidates = 0;
+
+        for (int i = 0; i < driver.size && candidates < MAX_CANDIDATES; i++) {
+            int doc = driver.docs[i];
+            if (!filter.accepts(doc)) {
+                continue;
+            }
+            candidates++;
+            int score = driver.weights[i];
+            boolean matches = true;
+            for (int r = 1; r < required.size() && matches; r++) {
+                Postings.View view = required.get(r);
+                int pos = seek(view, cursors[r], doc);
+                cursors[r] = pos;
+                matches = pos < view.size && view.docs[pos] == doc;
+                if (matches) {
+                    score += view.weights[pos];
+                }
+            }
+            if (!matches) {
+                continue;
+            }
+            int best = 0;
+            for (int p = 0; p < prefixed.size(); p++) {
+                Postings.View view = prefixed.get(p);
+                int pos = seek(view, prefixCursors[p], doc);
+                prefixCursors[p] = pos;
+                if (pos < view.size && view.docs[pos] == doc) {
+                    best = Math.max(best, view.weights[pos]);
+                }
+            }
+            if (best > 0) {
+                offer(top, filter.docs, doc, score + best, max);
+            }
+        }
+    }
+
+    /**
+     * Position of the first entry &gt;= target at or after {@code from}, found by galloping then binary search.
+     */
+    private static int seek(Postings.View view, int from, int target) {
+        int[] docs = view.docs;
+        int size = view.size;
+        if (from >= size || docs[from] >= target) {
+            return from;
+        }
+        int low = from;
+        int step = 1;
+        while (low + step < size && docs[low + step] < target) {
+            low += step;
+            step <<= 1;
+        }
+        int pos = Arrays.binarySearch(docs, low + 1, Math.min(low + step, size), target);
+        return pos >= 0 ? pos : -pos - 1;
+    }
+
+    private static void offer(PriorityQueue<ScoredDoc> top, Docs docs, int doc, int score, int max) {
+        ScoredDoc candidate = new ScoredDoc(doc, docs.ids[doc], score);
+        if (top.size() < max) {
+            top.add(candidate);
+        } else if (WORST_FIRST.compare(candidate, top.peek()) > 0) {
+            top.poll();
+            top.add(candidate);
+        }
+    }
+
+    private static List<ProductSearchHit> toHits(PriorityQueue<ScoredDoc> top, Docs docs) {
+        ProductSearchHit[] hits = new ProductSearchHit[top.size()];
+        for (int i = hits.length - 1; i >= 0; i--) {
+            ScoredDoc doc = top.poll();
+            int ordinal = doc.ordinal;
+            hits[i] = new ProductSearchHit(docs.ids[ordinal], docs.names[ordinal],
+                    docs.categoryNames[docs.categories[ordinal]], docs.prices[ordinal], doc.score);
+        }
+        return Arrays.asList(hits);
+    }
+
+    static List<String> tokenize(String text) {
+        if (text == null || text.isEmpty()) {
+            return List.of();
+        }
+        List<String> tokens = new ArrayList<>();
+        int start = -1;
+        for (int i = 0; i <= text.length(); i++) {
+            boolean wordChar = i < text.length() && Character.isLetterOrDigit(text.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                tokens.add(text.substring(start, i).toLowerCase(Locale.ROOT));
+                start = -1;
+            }
+        }
+        return tokens;
+    }
+
+    private static String categoryKey(String category) {
+        return category == null ? "" : category.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static List<Long> idsOf(List<ProductDto> products) {
+        List<Long> ids = new ArrayList<>(products.size());
+        for (ProductDto product : products) {
+            ids.add(product.getId());
+        }
+        return ids;
+    }
+
+    /**
+     * One generation of the index. Mutated only under the write lock; readers see the last published views.
+     */
+    private static final class Segment {
+
+        final ConcurrentSkipListMap<String, Postings> terms = new ConcurrentSkipListMap<>();
+        final Map<String, Integer> categoryCodes = new ConcurrentHashMap<>();
+
+        // Writer-side state
+        private final Map<Long, Integer> ordinalById = new HashMap<>();
+        private final Set<Postings> touched = Collections.newSetFromMap(new IdentityHashMap<>());
+        private final List<Integer> tombstoned = new ArrayList<>();
+        private long[] ids = new long[1024];
+        private double[] prices = new double[1024];
+        private int[] categories = new int[1024];
+        private String[] names = new String[1024];
+        private boolean[] alive = new boolean[1024];
+        private String[] categoryNames = new String[16];
+        private int size;
+        private int categoryCount;
+        private int live;
+
+        volatile Docs docs = new Docs(ids, prices, categories, names, alive, categoryNames, 0, 0);
+
+        void add(Collection<ProductDto> products) {
+            Map<String, Integer> weights = new HashMap<>();
+            for (ProductDto product : products) {
+                int ordinal = append(product);
+                weights.clear();
+                addTokens(weights, product.getName(), NAME_WEIGHT);
+                addTokens(weights, product.getCategory(), CATEGORY_WEIGHT);
+                addTokens(weights, product.getDescription(), DESCRIPTION_WEIGHT);
+                for (Map.Entry<String, Integer> entry : weights.entrySet()) {
+                    Postings postings = terms.computeIfAbsent(entry.getKey(), term -> new Postings());
+                    postings.add(ordinal, entry.getValue());
+                    touched.add(postings);
+                }
+            }
+        }
+
+        void remove(Collection<Long> productIds) {
+            for (Long id : productIds) {
+                Integer ordinal = ordinalById.remove(id);
+                if (ordinal != null) {
+                    // The published view shares alive[]; the flag is cleared on a copy in publish()
+                    tombstoned.add(ordinal);
+                    live--;
+                }
+            }
+        }
+
+        /**
+         * Makes pending writes visible: postings first, whose new ordinals queries skip until the
+         * document view covering them and the tombstones of the entries they replace is swapped in.
+         */
+        void publish() {
+            if (!tombstoned.isEmpty()) {
+                alive = Arrays.copyOf(alive, alive.length);
+                for (int ordinal : tombstoned) {
+                    alive[ordinal] = false;
+                }
+                tombstoned.clear();
+            }
+            for (Postings postings : touched) {
+                postings.publish();
+            }
+            touched.clear();
+            docs = new Docs(ids, prices, categories, names, alive, categoryNames, size, live);
+        }
+
+        /**
+         * A new segment holding only the live products, renumbered in their current order so every
+         * posting list stays ascending.
+         */
+        Segment compact() {
+            Segment compacted = new Segment();
+            int[] remap = new int[size];
+            for (int ordinal = 0; ordinal < size; ordinal++) {
+                if (alive[ordinal]) {
+                    remap[ordinal] = compacted.append(ids[ordinal], prices[ordinal],
+                            categoryNames[categories[ordinal]], names[ordinal]);
+                } else {
+                    remap[ordinal] = -1;
+                }
+            }
+            for (Map.Entry<String, Postings> entry : terms.entrySet()) {
+                Postings old = entry.getValue();
+                Postings postings = new Postings();
+                for (int i = 0; i < old.size; i++) {
+                    int ordinal = remap[old.docs[i]];
+                    if (ordinal >= 0) {
+                        postings.add(ordinal, old.weights[i]);
+                    }
+                }
+                if (postings.size > 0) {
+                    compacted.terms.put(entry.getKey(), postings);
+                    compacted.touched.add(postings);
+                }
+            }
+            return compacted;
+        }
+
+        private int append(ProductDto product) {
+            return append(product.getId(), product.getPrice() != null ? product.getPrice() : Double.NaN,
+                    product.getCategory(), product.getName());
+        }
+
+        private int append(long id, double price, String category, String name) {
+            if (size == ids.length) {
+                int capacity = size * 2;
+                ids = Arrays.copyOf(ids, capacity);
+                prices = Arrays.copyOf(prices, capacity);
+                categories = Arrays.copyOf(categories, capacity);
+                names = Arrays.copyOf(names, capacity);
+                alive = Arrays.copyOf(alive, capacity);
+            }
+            int ordinal = size++;
+            ids[ordinal] = id;
+            prices[ordinal] = price;
+            categories[ordinal] = categoryCode(category);
+            names[ordinal] = name;
+            alive[ordinal] = true;
+            ordinalById.put(id, ordinal);
+            live++;
+            return ordinal;
+        }
+
+        private int categoryCode(String category) {
+            String key = categoryKey(category);
+            Integer code = categoryCodes.get(key);
+            if (code == null) {
+                if (categoryCount == categoryNames.length) {
+                    categoryNames = Arrays.copyOf(categoryNames, categoryCount * 2);
+                }
+                code = categoryCount++;
+                categoryNames[code] = category;
+                categoryCodes.put(key, code);
+            }
+            return code;
+        }
+
+        private static void addTokens(Map<String, Integer> weights, String text, int weight) {
+            for (String token : tokenize(text)) {
+                weights.merge(token, weight, Integer::sum);
+            }
+        }
+    }
+
+    /**
+     * Column-wise document store; a view shares arrays with the writer but never reads past its own
+     * size, and the writer never changes an entry below it.
+     */
+    private static final class Docs {
+
+        final long[] ids;
+        final double[] prices;
+        final int[] categories;
+        final String[] names;
+        final boolean[] alive;
+        final String[] categoryNames;
+        final int size;
+        final int live;
+
+        Docs(long[] ids, double[] prices, int[] categories, String[] names, boolean[] alive,
+             String[] categoryNames, int size, int live) {
+            this.ids = ids;
+            this.prices = prices;
+            this.categories = categories;
+            this.names = names;
+            this.alive = alive;
+            this.categoryNames = categoryNames;
+            this.size = size;
+            this.live = live;
+        }
+
+        int live() {
+            return live;
+        }
+    }
+
+    /**
+     * Ordinals containing one term, in ascending order, with the summed field weight per product.
+     */
+    private static final class Postings {
+
+        private int[] docs = new int[2];
+        private byte[] weights = new byte[2];
+        private int size;
+        volatile View view = View.EMPTY;
+
+        void add(int doc, int weight) {
+            if (size == docs.length) {
+                docs = Arrays.copyOf(docs, size * 2);
+                weights = Arrays.copyOf(weights, size * 2);
+            }
+            docs[size] = doc;
+            weights[size] = (byte) Math.min(weight, Byte.MAX_VALUE);
+            size++;
+        }
+
+        void publish() {
+            view = new View(docs, weights, size);
+        }
+
+        static final class View {
+
+            static final View EMPTY = new View(new int[0], new byte[0], 0);
+
+            final int[] docs;
+            final byte[] weights;
+            final int size;
+
+            View(int[] docs, byte[] weights, int size) {
+                this.docs = docs;
+                this.weights = weights;
+                this.size = size;
+            }
+        }
+    }
+
+    private static final class Filter {
+
+        private final Docs docs;
+        private final int categoryCode;
+        private final double minPrice;
+        private final double maxPrice;
+        // Products without a price are stored as NaN, which fails every comparison; only a given bound excludes them
+        private final boolean priceBounded;
+
+        Filter(Docs docs, int categoryCode, double minPrice, double maxPrice) {
+            this.docs = docs;
+            this.categoryCode = categoryCode;
+            this.minPrice = minPrice;
+            this.maxPrice = maxPrice;
+            this.priceBounded = minPrice > Double.NEGATIVE_INFINITY || maxPrice < Double.POSITIVE_INFINITY;
+        }
+
+        boolean accepts(int doc) {
+            if (doc >= docs.size || !docs.alive[doc]) {
+                return false;
+            }
+            if (categoryCode >= 0 && docs.categories[doc] != categoryCode) {
+                return false;
+            }
+            if (!priceBounded) {
+                return true;
+            }
+            double price = docs.prices[doc];
+            return price >= minPrice && price <= maxPrice;
+        }
+    }
+
+    private static final class ScoredDoc {
+
+        final int ordinal;
+        final long id;
+        final int score;
+
+        ScoredDoc(int ordinal, long id, int score) {
+            this.ordinal = ordinal;
+            this.id = id;
+            this.score = score;
+        }
+    }
+}
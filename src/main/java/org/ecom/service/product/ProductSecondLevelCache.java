@@ -0,0 +1,44 @@
+package org.ecom.service.product;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.ecom.entity.product.Product;
+import org.ecom.model.admin.SecondLevelCacheStats;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.springframework.stereotype.Component;
+
+import javax.cache.CacheManager;
+
+/**
+ * Statistics and bulk eviction for the {@link Product#CACHE_REGION} second-level cache region.
+ * Writes made through the entity keep the region current on their own; this is for writes that
+ * go around Hibernate, such as the JDBC batches of the product import.
+ */
+@Component
+public class ProductSecondLevelCache {
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final CacheManager hibernateCacheManager;
+
+    public ProductSecondLevelCache(EntityManagerFactory entityManagerFactory, CacheManager hibernateCacheManager) {
+        this.entityManagerFactory = entityManagerFactory;
+        this.hibernateCacheManager = hibernateCacheManager;
+    }
+
+    public void evictAll() {
+        entityManagerFactory.getCache().evict(Product.class);
+    }
+
+    /**
+     * Counters since startup; the same numbers are published as hibernate.second.level.cache.* meters.
+     */
+    public SecondLevelCacheStats stats() {
+        CacheRegionStatistics region = entityManagerFactory.unwrap(SessionFactory.class).getStatistics()
+                .getDomainDataRegionStatistics(Product.CACHE_REGION);
+        long size = hibernateCacheManager.getCache(Product.CACHE_REGION)
+                .unwrap(com.github.benmanes.caffeine.cache.Cache.class)
+                .estimatedSize();
+        return new SecondLevelCacheStats(Product.CACHE_REGION, size,
+                region.getHitCount(), region.getMissCount(), region.getPutCount());
+    }
+}
@@ -0,0 +1,74 @@
+package org.ecom.service.product;
+
+import org.ecom.entity.product.Product;
+import org.ecom.model.product.ProductDto;
+import org.ecom.repository.product.ProductRepository;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+
+/**
+ * Product writes. Each write commits on its own and then publishes a {@link ProductsChangedEvent},
+ * so the catalog never rebuilds from data that is not committed yet.
+ */
+@Service
+public class ProductService {
+
+    private final ProductRepository productRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public ProductService(ProductRepository productRepository, ApplicationEventPublisher eventPublisher) {
+        this.productRepository = productRepository;
+        this.eventPublisher = eventPublisher;
+    }
+
+    public ProductDto create(ProductDto request) {
+        validate(request);
+        Product product = new Product();
+        apply(request, product);
+        ProductDto saved = ProductDto.from(productRepository.save(product));
+        eventPublisher.publishEvent(ProductsChangedEvent.upserted(saved));
+        return saved;
+    }
+
+    public ProductDto update(Long id, ProductDto request) {
+        validate(request);
+        Product product = productRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Product not found"));
+        apply(request, product);
+        ProductDto saved = ProductDto.from(productRepository.save(product));
+        eventPublisher.publishEvent(ProductsChangedEvent.upserted(saved));
+        return saved;
+    }
+
+    public void delete(Long id) {
+        if (!productRepository.existsById(id)) {
+            throw new RuntimeException("Product not found");
+        }
+        productRepository.deleteById(id);
+        eventPublisher.publishEvent(ProductsChangedEvent.removed(id));
+    }
+
+    private void validate(ProductDto request) {
+        if (request.getName() == null || request.getName().isBlank()) {
+            throw new IllegalArgumentException("Product name is required");
+        }
+        if (request.getPrice() == null || request.getPrice() < 0) {
+            throw new IllegalArgumentException("Product price must be zero or more");
+        }
+        if (request.getStock() == null || request.getStock() < 0) {
+            throw new IllegalArgumentException("Product stock must be zero or more");
+        }
+    }
+
+    private void apply(ProductDto request, Product product) {
+        if (request.getSku() != null) {
+            product.setSku(request.getSku().trim());
+        }
+        product.setName(request.getName().trim());
+        product.setDescription(request.getDescription());
+        product.setPrice(request.getPrice());
+        product.setStock(request.getStock());
+        product.setCategory(request.getCategory());
+        product.setImageUrl(request.getImageUrl());
+    }
+}
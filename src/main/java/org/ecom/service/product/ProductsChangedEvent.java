@@ -0,0 +1,50 @@
+package org.ecom.service.product;
+
+import org.ecom.model.product.ProductDto;
+
+import java.util.List;
+
+/**
+ * Published after product writes have been committed, so in-memory read models can catch up.
+ * A {@link #isReload() reload} event means any product may have changed, e.g. after a bulk import.
+ */
+public class ProductsChangedEvent {
+
+    private final List<ProductDto> upserted;
+    private final List<Long> removed;
+    private final boolean reload;
+
+    public ProductsChangedEvent(List<ProductDto> upserted, List<Long> removed) {
+        this(upserted, removed, false);
+    }
+
+    private ProductsChangedEvent(List<ProductDto> upserted, List<Long> removed, boolean reload) {
+        this.upserted = upserted;
+        this.removed = removed;
+        this.reload = reload;
+    }
+
+    public static ProductsChangedEvent upserted(ProductDto product) {
+        return new ProductsChangedEvent(List.of(product), List.of());
+    }
+
+    public static ProductsChangedEvent removed(Long id) {
+        return new ProductsChangedEvent(List.of(), List.of(id));
+    }
+
+    public static ProductsChangedEvent reloaded() {
+        return new ProductsChangedEvent(List.of(), List.of(), true);
+    }
+
+    public List<ProductDto> getUpserted() {
+        return upserted;
+    }
+
+    public List<Long> getRemoved() {
+        return removed;
+    }
+
+    public boolean isReload() {
+        return reload;
+    }
+}
@@ -1,4 +1,5 @@
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.ecom.entity.auth.User;
 import org.ecom.model.auth.AuthRequest;
 import org.ecom.model.auth.AuthResponse;
@@ -6,10 +7,10 @@ import org.ecom.model.auth.DeleteRequest;
 import org.ecom.repository.auth.UserRepository;
 import org.ecom.security.JwtService;
 import org.ecom.service.auth.AuthService;
+import org.ecom.service.auth.UserCache;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
@@ -19,6 +20,7 @@ import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
+import java.time.Duration;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -37,13 +39,16 @@ class AuthServiceTest {
     @Mock
     private JwtService jwtService;
 
-    @InjectMocks
     private AuthService authService;
 
     private AuthRequest authRequest;
 
     @BeforeEach
     void setUp() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        authService = new AuthService(userRepository, passwordEncoder, jwtService,
+                new UserCache(userRepository, 100, Duration.ofMinutes(5), meterRegistry), meterRegistry);
+
         authRequest = new AuthRequest();
         authRequest.setName("Test User");
         authRequest.setEmail("test@example.com");
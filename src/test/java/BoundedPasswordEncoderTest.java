@@ -0,0 +1,90 @@
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.ecom.model.admin.PasswordHashingStats;
+import org.ecom.security.BoundedPasswordEncoder;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BoundedPasswordEncoderTest {
+
+    private final CountDownLatch started = new CountDownLatch(1);
+    private final CountDownLatch release = new CountDownLatch(1);
+    private BoundedPasswordEncoder encoder;
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        encoder.destroy();
+    }
+
+    /**
+     * ✅ Hashing runs on the pool and its latency is recorded.
+     */
+    @Test
+    void shouldDelegateAndRecordStats() {
+        release.countDown();
+        encoder = new BoundedPasswordEncoder(blockingEncoder(), 2, 4, new SimpleMeterRegistry());
+
+        assertEquals("{hashed}secret", encoder.encode("secret"));
+        assertTrue(encoder.matches("secret", "{hashed}secret"));
+        assertFalse(encoder.matches("other", "{hashed}secret"));
+
+        PasswordHashingStats stats = encoder.stats();
+        assertEquals(3, stats.getCompleted());
+        assertEquals(0, stats.getRejected());
+        assertEquals(2, stats.getThreads());
+        assertEquals(4, stats.getQueueCapacity());
+    }
+
+    /**
+     * ✅ Once the thread is busy and the queue is full, further calls are rejected with 503 immediately.
+     */
+    @Test
+    void shouldRejectWhenSaturated() throws Exception {
+        encoder = new BoundedPasswordEncoder(blockingEncoder(), 1, 1, new SimpleMeterRegistry());
+
+        CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> encoder.encode("first"));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        CompletableFuture<String> queued = CompletableFuture.supplyAsync(() -> encoder.encode("second"));
+        for (int i = 0; i < 100 && encoder.stats().getQueued() == 0; i++) {
+            Thread.sleep(10);
+        }
+        assertEquals(1, encoder.stats().getQueued());
+
+        ResponseStatusException e = assertThrows(ResponseStatusException.class, () -> encoder.encode("third"));
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, e.getStatusCode());
+        assertEquals(1, encoder.stats().getRejected());
+
+        release.countDown();
+        assertEquals("{hashed}first", running.get(5, TimeUnit.SECONDS));
+        assertEquals("{hashed}second", queued.get(5, TimeUnit.SECONDS));
+    }
+
+    private PasswordEncoder blockingEncoder() {
+        return new PasswordEncoder() {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                started.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return "{hashed}" + rawPassword;
+            }
+
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                return encode(rawPassword).equals(encodedPassword);
+            }
+        };
+    }
+}
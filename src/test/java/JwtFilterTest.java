@@ -3,12 +3,13 @@ import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import io.jsonwebtoken.MalformedJwtException;
+import org.ecom.security.JwtClaims;
 import org.ecom.security.JwtFilter;
 import org.ecom.security.JwtService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
@@ -19,6 +20,7 @@ import org.springframework.security.core.userdetails.UserDetailsService;
 
 import java.io.IOException;
 import java.util.Collections;
+import java.util.Date;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -40,13 +42,13 @@ class JwtFilterTest {
     @Mock
     private HttpServletResponse response;
 
-    @InjectMocks
     private JwtFilter jwtFilter;
 
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
         SecurityContextHolder.clearContext();
+        jwtFilter = new JwtFilter(jwtService, userDetailsService, false);
     }
 
     @Test
@@ -76,10 +78,12 @@ class JwtFilterTest {
 
         UserDetails userDetails = new User(email, "password", Collections.emptyList());
 
+        JwtClaims claims = new JwtClaims(email, 1L, "ROLE_USER", new Date(System.currentTimeMillis() + 60_000));
+
         when(request.getHeader("Authorization")).thenReturn("Bearer " + token);
-        when(jwtService.extractEmail(token)).thenReturn(email);
+        when(jwtService.parseToken(token)).thenReturn(claims);
         when(userDetailsService.loadUserByUsername(email)).thenReturn(userDetails);
-        when(jwtService.isValid(token, userDetails)).thenReturn(true);
+        when(jwtService.isValid(claims, userDetails)).thenReturn(true);
 
         jwtFilter.doFilter(request, response, filterChain);
 
@@ -89,6 +93,10 @@ class JwtFilterTest {
         assertTrue(authentication instanceof UsernamePasswordAuthenticationToken);
         assertEquals(email, ((UserDetails) authentication.getPrincipal()).getUsername());
 
+        // Token is parsed exactly once and the claims are shared with downstream code
+        verify(jwtService, times(1)).parseToken(token);
+        verify(request).setAttribute(JwtClaims.REQUEST_ATTRIBUTE, claims);
+
         // Verify filter chain continues
         verify(filterChain).doFilter(request, response);
     }
@@ -100,14 +108,50 @@ class JwtFilterTest {
 
         UserDetails userDetails = new User(email, "password", Collections.emptyList());
 
+        JwtClaims claims = new JwtClaims(email, 1L, "ROLE_USER", new Date(System.currentTimeMillis() + 60_000));
+
         when(request.getHeader("Authorization")).thenReturn("Bearer " + token);
-        when(jwtService.extractEmail(token)).thenReturn(email);
+        when(jwtService.parseToken(token)).thenReturn(claims);
         when(userDetailsService.loadUserByUsername(email)).thenReturn(userDetails);
-        when(jwtService.isValid(token, userDetails)).thenReturn(false);
+        when(jwtService.isValid(claims, userDetails)).thenReturn(false);
+
+        jwtFilter.doFilter(request, response, filterChain);
+
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+        verify(filterChain).doFilter(request, response);
+    }
+
+    @Test
+    void shouldContinueUnauthenticatedWhenJwtCannotBeParsed() throws ServletException, IOException {
+        String token = "garbage";
+
+        when(request.getHeader("Authorization")).thenReturn("Bearer " + token);
+        when(jwtService.parseToken(token)).thenThrow(new MalformedJwtException("bad token"));
 
         jwtFilter.doFilter(request, response, filterChain);
 
         assertNull(SecurityContextHolder.getContext().getAuthentication());
+        verifyNoInteractions(userDetailsService);
+        verify(filterChain).doFilter(request, response);
+    }
+
+    @Test
+    void shouldAuthenticateFromClaimsWithoutUserLookupInStatelessMode() throws ServletException, IOException {
+        String token = "valid.jwt.token";
+        JwtClaims claims = new JwtClaims("user@example.com", 42L, "ROLE_USER", new Date(System.currentTimeMillis() + 60_000));
+        JwtFilter statelessFilter = new JwtFilter(jwtService, userDetailsService, true);
+
+        when(request.getHeader("Authorization")).thenReturn("Bearer " + token);
+        when(jwtService.parseToken(token)).thenReturn(claims);
+
+        statelessFilter.doFilter(request, response, filterChain);
+
+        var authentication = SecurityContextHolder.getContext().getAuthentication();
+        assertNotNull(authentication);
+        assertSame(claims, authentication.getPrincipal());
+        assertEquals("user@example.com", authentication.getName());
+        assertEquals("ROLE_USER", authentication.getAuthorities().iterator().next().getAuthority());
+        verifyNoInteractions(userDetailsService);
         verify(filterChain).doFilter(request, response);
     }
 }
@@ -1,6 +1,9 @@
 
 
+import io.jsonwebtoken.JwtException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.ecom.entity.auth.User;
+import org.ecom.security.JwtClaims;
 import org.ecom.security.JwtService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -19,7 +22,7 @@ class JwtServiceTest {
 
     @BeforeEach
     void setUp() throws Exception {
-        jwtService = new JwtService();
+        jwtService = new JwtService(new SimpleMeterRegistry());
 
         // A strong 256-bit secret key (minimum 32 bytes for HS256)
         secret = "12345678901234567890123456789012";
@@ -77,4 +80,41 @@ class JwtServiceTest {
         assertFalse(isValid);
     }
 
+    @Test
+    void shouldParseAllClaimsInOnePass() {
+        User user = new User(7L, "John", "john@example.com", "pass", "ROLE_ADMIN");
+        String token = jwtService.generateToken(user);
+
+        JwtClaims claims = jwtService.parseToken(token);
+
+        assertEquals("john@example.com", claims.getEmail());
+        assertEquals(7L, claims.getUserId());
+        assertEquals("ROLE_ADMIN", claims.getRole());
+        assertNotNull(claims.getExpiration());
+        assertFalse(claims.isExpired());
+    }
+
+    @Test
+    void shouldRejectTamperedToken() {
+        User user = new User(1L, "John", "john@example.com", "pass", "ROLE_USER");
+        String token = jwtService.generateToken(user);
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("A") ? "BB" : "AA");
+
+        assertThrows(JwtException.class, () -> jwtService.parseToken(tampered));
+    }
+
+    @Test
+    void shouldTimeParsesByOutcome() throws Exception {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        JwtService timedService = new JwtService(registry);
+        setField(timedService, "secret", secret);
+        setField(timedService, "expiration", expiration);
+        String token = timedService.generateToken(new User(1L, "John", "john@example.com", "pass", "ROLE_USER"));
+
+        timedService.parseToken(token);
+        assertThrows(JwtException.class, () -> timedService.parseToken(token + "x"));
+
+        assertEquals(1, registry.get("auth.jwt.parse").tag("outcome", "valid").timer().count());
+        assertEquals(1, registry.get("auth.jwt.parse").tag("outcome", "invalid").timer().count());
+    }
 }
@@ -0,0 +1,52 @@
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.core.spi.FilterReply;
+import org.ecom.config.LogSamplingFilter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LogSamplingFilterTest {
+
+    private final LoggerContext context = new LoggerContext();
+    private LogSamplingFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        filter = new LogSamplingFilter();
+        filter.setLoggerName("org.ecom.service.auth");
+        filter.setMaxLevel("INFO");
+        filter.setOneIn(1_000_000);
+    }
+
+    /**
+     * ✅ Routine events of the sampled loggers are mostly dropped.
+     */
+    @Test
+    void shouldSampleInfoEventsOfConfiguredLoggers() {
+        Logger auth = context.getLogger("org.ecom.service.auth.AuthService");
+
+        int kept = 0;
+        for (int i = 0; i < 1000; i++) {
+            if (filter.decide(null, auth, Level.INFO, "Login succeeded", null, null) != FilterReply.DENY) {
+                kept++;
+            }
+        }
+        assertTrue(kept < 5, "kept " + kept);
+    }
+
+    /**
+     * ✅ Warnings, other loggers and isEnabled checks are never sampled.
+     */
+    @Test
+    void shouldPassEverythingElse() {
+        Logger auth = context.getLogger("org.ecom.service.auth.AuthService");
+        Logger orders = context.getLogger("org.ecom.service.order.OrderService");
+
+        assertEquals(FilterReply.NEUTRAL, filter.decide(null, auth, Level.WARN, "Login failed", null, null));
+        assertEquals(FilterReply.NEUTRAL, filter.decide(null, orders, Level.INFO, "Order placed", null, null));
+        assertEquals(FilterReply.NEUTRAL, filter.decide(null, auth, Level.INFO, null, null, null));
+    }
+}
@@ -0,0 +1,74 @@
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.ecom.config.SqlRequestStats;
+import org.ecom.config.SqlStatementListener;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SqlStatementListenerTest {
+
+    private DataSource dataSource;
+
+    @BeforeEach
+    void setUp() {
+        JdbcDataSource h2 = new JdbcDataSource();
+        h2.setURL("jdbc:h2:mem:sqlstats;DB_CLOSE_DELAY=-1");
+        dataSource = ProxyDataSourceBuilder.create(h2)
+                .listener(new SqlStatementListener(Duration.ofSeconds(10), true))
+                .build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        SqlRequestStats.end();
+    }
+
+    /**
+     * ✅ Every execution on the request thread is counted, a JDBC batch as one round trip.
+     */
+    @Test
+    void shouldCountStatementsOfTheCurrentRequest() throws Exception {
+        SqlRequestStats stats = SqlRequestStats.start();
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.execute("create table if not exists items (id int primary key, name varchar(20))");
+            statement.execute("delete from items");
+            try (PreparedStatement insert = connection.prepareStatement("insert into items values (?, ?)")) {
+                for (int i = 0; i < 3; i++) {
+                    insert.setInt(1, i);
+                    insert.setString(2, "item " + i);
+                    insert.addBatch();
+                }
+                insert.executeBatch();
+            }
+            statement.executeQuery("select count(*) from items").close();
+        }
+
+        assertEquals(4, stats.getStatements());
+        assertTrue(stats.getNanos() > 0);
+    }
+
+    /**
+     * ✅ Statements outside a request are executed but not attributed.
+     */
+    @Test
+    void shouldIgnoreStatementsOutsideRequests() throws Exception {
+        SqlRequestStats stats = SqlRequestStats.start();
+        SqlRequestStats.end();
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.executeQuery("select 1").close();
+        }
+
+        assertEquals(0, stats.getStatements());
+    }
+}
@@ -0,0 +1,48 @@
+
+import org.ecom.entity.auth.User;
+import org.ecom.service.auth.UserCache;
+import org.ecom.service.auth.UserCacheInvalidationListener;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import static org.mockito.Mockito.*;
+
+class UserCacheInvalidationListenerTest {
+
+    private final UserCache userCache = mock(UserCache.class);
+    private final UserCacheInvalidationListener listener = new UserCacheInvalidationListener(userCache);
+    private final User user = new User(1L, "Test User", "test@example.com", "encoded", "ROLE_USER");
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    /**
+     * ✅ A change flushed inside a transaction is evicted again once it commits, dropping any entry
+     * re-cached from the old row in between.
+     */
+    @Test
+    void evictsAgainAfterCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+
+        listener.evict(user);
+        verify(userCache, times(1)).evictById(1L);
+
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            synchronization.afterCommit();
+        }
+        verify(userCache, times(2)).evictById(1L);
+    }
+
+    @Test
+    void evictsImmediatelyWithoutTransaction() {
+        listener.evict(user);
+
+        verify(userCache, times(1)).evictById(1L);
+    }
+}
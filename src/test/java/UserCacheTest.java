@@ -0,0 +1,95 @@
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.ecom.entity.auth.User;
+import org.ecom.repository.auth.UserRepository;
+import org.ecom.service.auth.UserCache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import jdk.jfr.consumer.RecordingStream;
+
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UserCacheTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    private UserCache userCache;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        userCache = new UserCache(userRepository, 100, Duration.ofMinutes(5), new SimpleMeterRegistry());
+        user = new User(1L, "Test User", "test@example.com", "encoded", "ROLE_USER");
+    }
+
+    @Test
+    void repeatedLookupsHitTheRepositoryOnce() {
+        when(userRepository.findByEmail("test@example.com")).thenReturn(Optional.of(user));
+
+        assertEquals(user, userCache.findByEmail("test@example.com").orElseThrow());
+        assertEquals(user, userCache.findByEmail("test@example.com").orElseThrow());
+
+        verify(userRepository, times(1)).findByEmail("test@example.com");
+        assertEquals(1, userCache.stats().hitCount());
+        assertEquals(1, userCache.stats().missCount());
+    }
+
+    @Test
+    void unknownEmailIsNotCached() {
+        when(userRepository.findByEmail("new@example.com"))
+                .thenReturn(Optional.empty())
+                .thenReturn(Optional.of(user));
+
+        assertTrue(userCache.findByEmail("new@example.com").isEmpty());
+        assertTrue(userCache.findByEmail("new@example.com").isPresent());
+    }
+
+    @Test
+    void evictByIdForcesReload() {
+        when(userRepository.findByEmail("test@example.com")).thenReturn(Optional.of(user));
+
+        userCache.findByEmail("test@example.com");
+        userCache.evictById(1L);
+        userCache.findByEmail("test@example.com");
+
+        verify(userRepository, times(2)).findByEmail("test@example.com");
+    }
+
+    /**
+     * ✅ A cache miss queries the database without pinning the virtual thread to its carrier.
+     */
+    @Test
+    void missDoesNotPinVirtualThread() throws Exception {
+        // A plain proxy rather than a mock, so no framework locks sit around the slow query
+        UserRepository slowRepository = (UserRepository) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[]{UserRepository.class}, (proxy, method, args) -> {
+                    Thread.sleep(50);
+                    return Optional.of(user);
+                });
+        UserCache cache = new UserCache(slowRepository, 100, Duration.ofMinutes(5), new SimpleMeterRegistry());
+
+        AtomicInteger pinned = new AtomicInteger();
+        try (RecordingStream recording = new RecordingStream()) {
+            recording.enable("jdk.VirtualThreadPinned").withThreshold(Duration.ofMillis(10));
+            recording.onEvent("jdk.VirtualThreadPinned", event -> pinned.incrementAndGet());
+            recording.startAsync();
+
+            Thread.ofVirtual().start(() -> cache.findByEmail("test@example.com")).join();
+            recording.stop();
+        }
+
+        assertEquals(0, pinned.get());
+    }
+}
@@ -0,0 +1,115 @@
+package bench;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.ServletException;
+import org.ecom.entity.auth.User;
+import org.ecom.security.JwtClaims;
+import org.ecom.security.JwtFilter;
+import org.ecom.security.JwtService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token issue and verification cost of {@link JwtService}, and the full {@link JwtFilter} pass a
+ * request makes before reaching a controller, with and without the user lookup.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtBenchmark {
+
+    private JwtService jwtService;
+    private User user;
+    private UserDetails userDetails;
+    private String token;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        jwtService = new JwtService(new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(jwtService, "secret", "benchmark-secret-key-of-at-least-256-bits!");
+        ReflectionTestUtils.setField(jwtService, "expiration", 3_600_000L);
+
+        user = new User(42L, "Bench", "bench@example.com", "encoded", "ROLE_USER");
+        userDetails = org.springframework.security.core.userdetails.User
+                .withUsername(user.getEmail()).password(user.getPassword()).roles("USER").build();
+        token = jwtService.generateToken(user);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtService.generateToken(user);
+    }
+
+    @Benchmark
+    public String extractEmail() {
+        return jwtService.extractEmail(token);
+    }
+
+    @Benchmark
+    public boolean isValid() {
+        return jwtService.isValid(token, userDetails);
+    }
+
+    @Benchmark
+    public JwtClaims parseToken() {
+        return jwtService.parseToken(token);
+    }
+
+    /**
+     * The filter with the user looked up per request (the default) or built from the token claims.
+     */
+    @State(Scope.Benchmark)
+    public static class Filter {
+
+        @Param({"false", "true"})
+        private boolean statelessAuth;
+
+        private JwtFilter jwtFilter;
+
+        @Setup(Level.Trial)
+        public void setUp(JwtBenchmark benchmark) {
+            UserDetailsService userDetailsService = username -> benchmark.userDetails;
+            jwtFilter = new JwtFilter(benchmark.jwtService, userDetailsService, statelessAuth);
+        }
+    }
+
+    /**
+     * One authenticated request through the filter; a fresh request each time, as the filter marks
+     * the ones it has already seen.
+     */
+    @Benchmark
+    public Authentication filterAuthenticatedRequest(Filter filter) throws ServletException, IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/orders");
+        request.addHeader("Authorization", "Bearer " + token);
+        try {
+            filter.jwtFilter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+            return SecurityContextHolder.getContext().getAuthentication();
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+}
@@ -0,0 +1,153 @@
+package bench;
+
+import org.ecom.EcomExpressMain;
+import org.ecom.entity.product.Product;
+import org.ecom.repository.product.ProductRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * {@code GET /api/orders} over HTTP against an embedded instance, with many concurrent clients,
+ * once on Tomcat's platform-thread pool and once on virtual threads.
+ * <p>
+ * Throughput is reported in ops/ms and the SampleTime mode gives p50/p99/p999 latency. The
+ * client count is {@code @Threads}; override it with {@code -t} (e.g. {@code -t 1000}) to push past
+ * Tomcat's 200 worker threads. Pinned virtual threads are printed by {@code jdk.tracePinnedThreads}.
+ * Run with {@code mvn -Pbenchmark -DskipTests verify -Dbenchmark.include=OrderEndpointBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Threads(400)
+@Fork(value = 1, jvmArgs = {"-Xms1g", "-Xmx1g", "-Djdk.tracePinnedThreads=short"})
+public class OrderEndpointBenchmark {
+
+    private static final Pattern TOKEN = Pattern.compile("\"token\"\\s*:\\s*\"([^\"]+)\"");
+
+    @Param({"false", "true"})
+    private boolean virtualThreads;
+
+    @Param({"50"})
+    private int users;
+
+    @Param({"30"})
+    private int ordersPerUser;
+
+    private ConfigurableApplicationContext app;
+    private HttpClient client;
+    private URI ordersUri;
+    private final List<String> tokens = new ArrayList<>();
+    private final AtomicInteger nextClient = new AtomicInteger();
+
+    @Setup(Level.Trial)
+    public void start() throws Exception {
+        app = new SpringApplicationBuilder(EcomExpressMain.class)
+                .properties(
+                        "server.port=0",
+                        "spring.threads.virtual.enabled=" + virtualThreads,
+                        "spring.datasource.url=jdbc:h2:mem:orderbench",
+                        "spring.jpa.show-sql=false",
+                        "spring.h2.console.enabled=false",
+                        "outbox.dispatch.enabled=false",
+                        "logging.level.root=WARN")
+                .run();
+        String base = "http://localhost:" + app.getEnvironment().getProperty("local.server.port");
+        client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        ordersUri = URI.create(base + "/api/orders?size=20");
+
+        ProductRepository products = app.getBean(ProductRepository.class);
+        List<Long> productIds = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            productIds.add(products.save(new Product(null, "Product " + i, null, 10.0 + i, 1_000_000, "bench", null)).getId());
+        }
+
+        for (int u = 0; u < users; u++) {
+            String response = post(base + "/api/auth/register", null,
+                    "{\"name\":\"Bench\",\"email\":\"bench" + u + "@example.com\",\"password\":\"password" + u + "\"}");
+            Matcher token = TOKEN.matcher(response);
+            if (!token.find()) {
+                throw new IllegalStateException("No token in register response: " + response);
+            }
+            tokens.add(token.group(1));
+            for (int o = 0; o < ordersPerUser; o++) {
+                long productId = productIds.get((u + o) % productIds.size());
+                post(base + "/api/orders/place", token.group(1),
+                        "{\"items\":[{\"productId\":" + productId + ",\"quantity\":1}]}");
+            }
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        app.close();
+    }
+
+    /**
+     * Each client thread stays logged in as one of the seeded users.
+     */
+    @State(Scope.Thread)
+    public static class Client {
+
+        private String authorization;
+
+        @Setup(Level.Trial)
+        public void login(OrderEndpointBenchmark benchmark) {
+            authorization = "Bearer " + benchmark.tokens.get(benchmark.nextClient.getAndIncrement() % benchmark.tokens.size());
+        }
+    }
+
+    @Benchmark
+    public int listOrders(Client client) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(ordersUri)
+                .header("Authorization", client.authorization)
+                .GET()
+                .build();
+        HttpResponse<byte[]> response = this.client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("GET /api/orders returned " + response.statusCode());
+        }
+        return response.body().length;
+    }
+
+    private String post(String uri, String token, String json) throws IOException, InterruptedException {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(uri))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json));
+        if (token != null) {
+            request.header("Authorization", "Bearer " + token);
+        }
+        HttpResponse<String> response = client.send(request.build(), HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("POST " + uri + " returned " + response.statusCode() + ": " + response.body());
+        }
+        return response.body();
+    }
+}
@@ -0,0 +1,131 @@
+package bench;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.ecom.entity.auth.User;
+import org.ecom.entity.order.Order;
+import org.ecom.entity.product.Product;
+import org.ecom.model.order.OrderRequest;
+import org.ecom.model.order.OrderResponse;
+import org.ecom.repository.auth.UserRepository;
+import org.ecom.repository.order.OrderRepository;
+import org.ecom.repository.outbox.OutboxEventRepository;
+import org.ecom.repository.product.ProductRepository;
+import org.ecom.service.auth.UserCache;
+import org.ecom.service.order.OrderService;
+import org.ecom.service.outbox.Outbox;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-process cost of {@link OrderService#placeOrder} for carts of different sizes (validation,
+ * pricing, order building and the outbox payload), with repositories stubbed out so the database
+ * is not measured, plus JSON serialization of the resulting {@link OrderResponse}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OrderPlacementBenchmark {
+
+    @Param({"1", "10", "100"})
+    private int cartSize;
+
+    private OrderService orderService;
+    private OrderRequest request;
+    private OrderResponse response;
+    private ObjectMapper objectMapper;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        User user = new User(1L, "Bench", "bench@example.com", "encoded", "ROLE_USER");
+        Map<Long, Product> products = new HashMap<>();
+        List<OrderRequest.OrderItemRequest> items = new ArrayList<>(cartSize);
+        for (long id = 1; id <= cartSize; id++) {
+            products.put(id, new Product(id, "Product " + id, "Description " + id, 9.99 + id, 1_000_000, "bench", null));
+            items.add(new OrderRequest.OrderItemRequest(id, 1 + (int) (id % 3)));
+        }
+        request = new OrderRequest();
+        request.setItems(items);
+
+        AtomicLong orderIds = new AtomicLong();
+        OrderRepository orderRepository = Stubs.of(OrderRepository.class, Map.of(
+                "save", args -> {
+                    Order order = (Order) args[0];
+                    order.setId(orderIds.incrementAndGet());
+                    return order;
+                }));
+        UserRepository userRepository = Stubs.of(UserRepository.class, Map.of(
+                "findByEmail", args -> Optional.of(user),
+                "getReferenceById", args -> user));
+        ProductRepository productRepository = Stubs.of(ProductRepository.class, Map.of(
+                "findAllById", args -> {
+                    List<Product> found = new ArrayList<>();
+                    for (Object id : (Iterable<?>) args[0]) {
+                        found.add(products.get((Long) id));
+                    }
+                    return found;
+                },
+                "decrementStock", args -> 1));
+        OutboxEventRepository outboxEventRepository = Stubs.of(OutboxEventRepository.class, Map.of(
+                "save", args -> args[0]));
+
+        objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        orderService = new OrderService(orderRepository, userRepository, productRepository,
+                new UserCache(userRepository, 100, Duration.ofMinutes(5), meterRegistry),
+                new Outbox(outboxEventRepository, objectMapper), meterRegistry);
+
+        // Global, so the benchmark threads see the context set up here
+        SecurityContextHolder.setStrategyName(SecurityContextHolder.MODE_GLOBAL);
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                user.getEmail(), null, AuthorityUtils.createAuthorityList(user.getRole())));
+        response = OrderResponse.from(orderService.placeOrder(request));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Benchmark
+    public Order placeOrder() {
+        return orderService.placeOrder(request);
+    }
+
+    @Benchmark
+    public OrderResponse placeOrderAndMapResponse() {
+        return OrderResponse.from(orderService.placeOrder(request));
+    }
+
+    @Benchmark
+    public byte[] serializeOrderResponse() throws Exception {
+        return objectMapper.writeValueAsBytes(response);
+    }
+}
@@ -0,0 +1,68 @@
+package bench;
+
+import org.ecom.model.product.ProductDto;
+import org.ecom.service.product.ProductFacetIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Facet filtering on the columnar index against the same filter over a list of product objects.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xms2g", "-Xmx2g"})
+public class ProductFacetBenchmark {
+
+    private static final List<String> CATEGORIES = List.of("Audio", "Phones");
+
+    @Param({"100000", "1000000"})
+    private int products;
+
+    private List<ProductDto> catalog;
+    private ProductFacetIndex index;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        catalog = SyntheticCatalog.generate(products, 42);
+        index = ProductFacetIndex.build(catalog);
+    }
+
+    @Benchmark
+    public ProductFacetIndex.Result columnar() {
+        return index.filter(50.0, 500.0, true, CATEGORIES);
+    }
+
+    @Benchmark
+    public Map<String, Integer> objectList() {
+        Map<String, Integer> counts = new HashMap<>();
+        int matched = 0;
+        for (ProductDto product : catalog) {
+            if (product.getPrice() >= 50.0 && product.getPrice() <= 500.0 && product.getStock() > 0) {
+                counts.merge(product.getCategory(), 1, Integer::sum);
+                if (CATEGORIES.contains(product.getCategory())) {
+                    matched++;
+                }
+            }
+        }
+        counts.put("", matched);
+        return counts;
+    }
+}
@@ -0,0 +1,75 @@
+package bench;
+
+import org.ecom.model.product.ProductDto;
+import org.ecom.model.product.ProductSearchHit;
+import org.ecom.service.product.ProductSearchIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Query latency of {@link ProductSearchIndex} over a synthetic catalog of a million SKUs.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xms2g", "-Xmx2g"})
+public class ProductSearchBenchmark {
+
+    @Param({"1000000"})
+    private int products;
+
+    private ProductSearchIndex index;
+    private List<ProductDto> catalog;
+    private long nextId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        catalog = SyntheticCatalog.generate(products, 42);
+        index = new ProductSearchIndex();
+        index.rebuild(catalog);
+        nextId = products + 1L;
+    }
+
+    @Benchmark
+    public List<ProductSearchHit> twoTerms() {
+        return index.search("acme wireless mouse", null, null, null, 20);
+    }
+
+    @Benchmark
+    public List<ProductSearchHit> typeaheadPrefix() {
+        return index.search("stark ergonomic key", null, null, null, 10);
+    }
+
+    @Benchmark
+    public List<ProductSearchHit> filteredByCategoryAndPrice() {
+        return index.search("portable speaker", "Audio", 50.0, 300.0, 20);
+    }
+
+    @Benchmark
+    public List<ProductSearchHit> singleShortPrefix() {
+        return index.search("hea", null, null, null, 10);
+    }
+
+    @Benchmark
+    public void incrementalUpdate() {
+        ProductDto product = catalog.get((int) (nextId % products));
+        index.upsert(List.of(new ProductDto(product.getId(), product.getName(), product.getDescription(),
+                product.getPrice() + 1, product.getStock(), product.getCategory(), null)));
+        nextId++;
+    }
+}
@@ -0,0 +1,33 @@
+package bench;
+
+import java.lang.reflect.Proxy;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Minimal interface stubs for benchmarks, where mocking frameworks would dominate the measured time.
+ */
+final class Stubs {
+
+    private Stubs() {
+    }
+
+    /**
+     * Implements {@code type} by method name; any other method throws.
+     */
+    static <T> T of(Class<T> type, Map<String, Function<Object[], Object>> methods) {
+        Object stub = Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+            Function<Object[], Object> body = methods.get(method.getName());
+            if (body != null) {
+                return body.apply(args);
+            }
+            return switch (method.getName()) {
+                case "hashCode" -> System.identityHashCode(proxy);
+                case "equals" -> proxy == args[0];
+                case "toString" -> type.getSimpleName() + " stub";
+                default -> throw new UnsupportedOperationException(method.getName());
+            };
+        });
+        return type.cast(stub);
+    }
+}
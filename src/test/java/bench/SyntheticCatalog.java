@@ -0,0 +1,69 @@
+package bench;
+
+import org.ecom.model.product.ProductDto;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Deterministic product catalog for benchmarks: names and descriptions drawn from fixed word lists,
+ * so term frequencies look like a real catalog (a few very common words, a long tail of rare ones).
+ */
+public final class SyntheticCatalog {
+
+    static final String[] CATEGORIES = {
+            "Electronics", "Computers", "Phones", "Audio", "Cameras", "Gaming", "Home", "Kitchen",
+            "Garden", "Tools", "Sports", "Outdoors", "Fashion", "Shoes", "Beauty", "Toys",
+            "Books", "Office", "Automotive", "Pets"
+    };
+
+    private static final String[] BRANDS = {
+            "acme", "globex", "initech", "umbrella", "hooli", "stark", "wayne", "wonka", "tyrell", "cyberdyne",
+            "soylent", "aperture", "oscorp", "gringotts", "vandelay", "pied", "monarch", "nakatomi", "massive", "octan"
+    };
+
+    private static final String[] ADJECTIVES = {
+            "wireless", "portable", "smart", "compact", "ergonomic", "premium", "classic", "ultra", "mini", "pro",
+            "rugged", "slim", "digital", "foldable", "waterproof", "rechargeable", "adjustable", "lightweight",
+            "heavy", "silent"
+    };
+
+    private static final String[] NOUNS = {
+            "mouse", "keyboard", "headphones", "speaker", "charger", "monitor", "laptop", "tablet", "camera",
+            "lamp", "blender", "kettle", "backpack", "jacket", "sneakers", "watch", "drone", "router", "drill",
+            "mixer", "tent", "bottle", "chair", "desk", "controller", "microphone", "projector", "scanner",
+            "printer", "vacuum"
+    };
+
+    private static final String[] FILLER = {
+            "with", "and", "for", "everyday", "use", "travel", "office", "home", "battery", "life", "fast",
+            "charging", "durable", "design", "steel", "aluminium", "cotton", "bluetooth", "usb", "led",
+            "hd", "noise", "cancelling", "grip", "warranty", "eco", "friendly", "quiet", "powerful", "gift"
+    };
+
+    private SyntheticCatalog() {
+    }
+
+    public static List<ProductDto> generate(int size, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        List<ProductDto> products = new ArrayList<>(size);
+        StringBuilder description = new StringBuilder();
+        for (int i = 1; i <= size; i++) {
+            String name = pick(random, BRANDS) + " " + pick(random, ADJECTIVES) + " " + pick(random, NOUNS)
+                    + " " + (char) ('a' + random.nextInt(26)) + random.nextInt(1000);
+            description.setLength(0);
+            for (int w = 0; w < 12; w++) {
+                description.append(pick(random, w % 3 == 0 ? ADJECTIVES : FILLER)).append(' ');
+            }
+            double price = Math.round(random.nextDouble(1, 2000) * 100) / 100.0;
+            products.add(new ProductDto((long) i, name, description.toString(), price,
+                    random.nextInt(0, 500), pick(random, CATEGORIES), null));
+        }
+        return products;
+    }
+
+    private static String pick(SplittableRandom random, String[] words) {
+        return words[random.nextInt(words.length)];
+    }
+}
@@ -0,0 +1,73 @@
+package loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency histogram and outcome counters of one endpoint, safe to record from many threads.
+ * Latencies are kept in microseconds with three significant digits, up to one minute.
+ */
+final class EndpointStats {
+
+    private final String name;
+    private final Histogram latencies = new ConcurrentHistogram(TimeUnit.MINUTES.toMicros(1), 3);
+    private final LongAdder errors = new LongAdder();
+    private final Map<Integer, LongAdder> statuses = new ConcurrentHashMap<>();
+
+    EndpointStats(String name) {
+        this.name = name;
+    }
+
+    String name() {
+        return name;
+    }
+
+    void record(long latencyNanos, int status) {
+        latencies.recordValue(Math.min(TimeUnit.NANOSECONDS.toMicros(latencyNanos), latencies.getHighestTrackableValue()));
+        statuses.computeIfAbsent(status, code -> new LongAdder()).increment();
+        if (status < 200 || status >= 300) {
+            errors.increment();
+        }
+    }
+
+    void reset() {
+        latencies.reset();
+        errors.reset();
+        statuses.clear();
+    }
+
+    /**
+     * Summary for the report: counts, throughput over {@code seconds} and latency percentiles in ms.
+     */
+    Map<String, Object> summary(double seconds) {
+        Map<String, Object> summary = new LinkedHashMap<>();
+        long count = latencies.getTotalCount();
+        summary.put("requests", count);
+        summary.put("errors", errors.sum());
+        summary.put("throughputPerSec", round(count / seconds));
+        summary.put("p50Ms", percentile(50));
+        summary.put("p90Ms", percentile(90));
+        summary.put("p99Ms", percentile(99));
+        summary.put("p999Ms", percentile(99.9));
+        summary.put("maxMs", round(latencies.getMaxValue() / 1000.0));
+        Map<String, Long> byStatus = new TreeMap<>();
+        statuses.forEach((status, counter) -> byStatus.put(status == 0 ? "failed" : String.valueOf(status), counter.sum()));
+        summary.put("statuses", byStatus);
+        return summary;
+    }
+
+    private double percentile(double percentile) {
+        return latencies.getTotalCount() == 0 ? 0 : round(latencies.getValueAtPercentile(percentile) / 1000.0);
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 100) / 100.0;
+    }
+}
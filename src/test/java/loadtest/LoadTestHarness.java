@@ -0,0 +1,366 @@
+package loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.ecom.EcomExpressMain;
+import org.ecom.entity.product.Product;
+import org.ecom.repository.product.ProductRepository;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-model load generator against an embedded instance on the in-memory H2 database.
+ * <p>
+ * Boots the application on a random port, seeds {@code loadtest.users} users (each with one order)
+ * and {@code loadtest.products} products, then starts requests at a fixed {@code loadtest.rate}
+ * per second regardless of how fast responses come back, mixing register/login with order
+ * place/list/get according to {@code loadtest.mix}. Latency is measured from the time a request
+ * was scheduled to start, so a stalled server shows up in the percentiles instead of silently
+ * lowering the offered load. Requests scheduled during {@code loadtest.warmup-seconds} are not
+ * recorded.
+ * <p>
+ * Prints a summary and writes throughput, error counts and p50/p90/p99/p999 latency per endpoint
+ * to {@code loadtest.report} as JSON. Run with {@code mvn -Pload-test -DskipTests verify}.
+ */
+public final class LoadTestHarness {
+
+    enum Operation {
+        REGISTER("POST /api/auth/register"),
+        LOGIN("POST /api/auth/login"),
+        PLACE("POST /api/orders/place"),
+        LIST("GET /api/orders"),
+        GET("GET /api/orders/{id}");
+
+        private final String endpoint;
+
+        Operation(String endpoint) {
+            this.endpoint = endpoint;
+        }
+    }
+
+    private static final String PASSWORD = "load-test-password";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+    private final Map<Operation, EndpointStats> stats = new EnumMap<>(Operation.class);
+    private final EndpointStats total = new EndpointStats("all");
+    private final List<Account> accounts = new ArrayList<>();
+    private final List<Long> productIds = new ArrayList<>();
+    private final AtomicInteger registrations = new AtomicInteger();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicLong dropped = new AtomicLong();
+
+    private final int users = Integer.getInteger("loadtest.users", 200);
+    private final int products = Integer.getInteger("loadtest.products", 500);
+    private final double rate = Double.parseDouble(System.getProperty("loadtest.rate", "200"));
+    private final int warmupSeconds = Integer.getInteger("loadtest.warmup-seconds", 10);
+    private final int durationSeconds = Integer.getInteger("loadtest.duration-seconds", 60);
+    private final int maxInFlight = Integer.getInteger("loadtest.max-in-flight", 5000);
+    private final boolean virtualThreads = Boolean.getBoolean("loadtest.virtual-threads");
+    private final String mix = System.getProperty("loadtest.mix", "register=2,login=8,place=20,list=45,get=25");
+    private final Path reportFile = Path.of(System.getProperty("loadtest.report", "target/loadtest-report.json"));
+
+    private Operation[] weightedOperations;
+    private String baseUrl;
+
+    public static void main(String[] args) throws Exception {
+        new LoadTestHarness().run();
+        // Spring and HTTP client threads would otherwise keep the exec plugin waiting
+        System.exit(0);
+    }
+
+    private void run() throws Exception {
+        weightedOperations = parseMix(mix);
+        for (Operation operation : Operation.values()) {
+            stats.put(operation, new EndpointStats(operation.endpoint));
+        }
+
+        SpringApplicationBuilder builder = new SpringApplicationBuilder(EcomExpressMain.class)
+                .properties(
+                        "server.port=0",
+                        "spring.datasource.url=jdbc:h2:mem:loadtest",
+                        "spring.jpa.show-sql=false",
+                        "spring.h2.console.enabled=false",
+                        "logging.level.root=WARN");
+        if (virtualThreads) {
+            builder.profiles("virtual");
+        }
+        try (ConfigurableApplicationContext app = builder.run()) {
+            baseUrl = "http://localhost:" + app.getEnvironment().getProperty("local.server.port");
+            seed(app.getBean(ProductRepository.class));
+            System.out.printf("Seeded %d users and %d products; offering %.0f req/s for %ds after %ds warm-up%n",
+                    users, products, rate, durationSeconds, warmupSeconds);
+            drive();
+            writeReport();
+        }
+    }
+
+    private void seed(ProductRepository productRepository) throws InterruptedException {
+        List<Product> catalog = new ArrayList<>(products);
+        for (int i = 0; i < products; i++) {
+            catalog.add(new Product(null, "Load product " + i, null, 5.0 + i % 200, 1_000_000_000, "load", null));
+        }
+        for (Product product : productRepository.saveAll(catalog)) {
+            productIds.add(product.getId());
+        }
+
+        for (int i = 0; i < users; i++) {
+            accounts.add(new Account("load-user-" + i + "@example.com"));
+        }
+        // Registration is BCrypt-bound; keep seeding within the hashing pool's queue
+        Semaphore permits = new Semaphore(16);
+        List<Future<?>> seeded = new ArrayList<>(accounts.size());
+        try (ExecutorService seeding = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (Account account : accounts) {
+                permits.acquire();
+                seeded.add(seeding.submit(() -> {
+                    try {
+                        HttpResponse<String> registered = post("/api/auth/register", null, credentials(account.email));
+                        account.token = field(registered, "token").asText();
+                        HttpResponse<String> order = post("/api/orders/place", account.token, cart());
+                        account.lastOrderId = field(order, "id").asLong();
+                        return null;
+                    } catch (IOException e) {
+                        throw new IllegalStateException("Seeding failed for " + account.email, e);
+                    } finally {
+                        permits.release();
+                    }
+                }));
+            }
+        }
+        // An account without a token would turn every request it makes into a 401 reported as a server error
+        for (Future<?> account : seeded) {
+            try {
+                account.get();
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("Seeding failed, aborting the run", e.getCause());
+            }
+        }
+    }
+
+    /**
+     * Starts one request every {@code 1/rate} seconds on its own virtual thread.
+     */
+    private void drive() throws InterruptedException {
+        long interval = (long) (TimeUnit.SECONDS.toNanos(1) / rate);
+        long start = System.nanoTime();
+        long measureFrom = start + TimeUnit.SECONDS.toNanos(warmupSeconds);
+        long end = measureFrom + TimeUnit.SECONDS.toNanos(durationSeconds);
+
+        ExecutorService requests = Executors.newVirtualThreadPerTaskExecutor();
+        for (long i = 0; ; i++) {
+            long scheduled = start + i * interval;
+            if (scheduled >= end) {
+                break;
+            }
+            long wait = scheduled - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            if (inFlight.get() >= maxInFlight) {
+                // The server has fallen this far behind; count it rather than growing without bound
+                if (scheduled >= measureFrom) {
+                    dropped.incrementAndGet();
+                }
+                continue;
+            }
+            Operation operation = weightedOperations[ThreadLocalRandom.current().nextInt(weightedOperations.length)];
+            boolean measured = scheduled >= measureFrom;
+            inFlight.incrementAndGet();
+            requests.execute(() -> {
+                try {
+                    execute(operation, scheduled, measured);
+                } finally {
+                    inFlight.decrementAndGet();
+                }
+            });
+        }
+        requests.shutdown();
+        if (!requests.awaitTermination(1, TimeUnit.MINUTES)) {
+            System.out.println("Some requests were still running after the run ended; they are not reported");
+        }
+    }
+
+    private void execute(Operation operation, long scheduled, boolean measured) {
+        Account account = accounts.get(ThreadLocalRandom.current().nextInt(accounts.size()));
+        int status;
+        try {
+            status = switch (operation) {
+                case REGISTER -> post("/api/auth/register", null,
+                        credentials("load-new-" + registrations.incrementAndGet() + "@example.com")).statusCode();
+                case LOGIN -> {
+                    HttpResponse<String> response = post("/api/auth/login", null, credentials(account.email));
+                    if (response.statusCode() == 200) {
+                        account.token = field(response, "token").asText();
+                    }
+                    yield response.statusCode();
+                }
+                case PLACE -> {
+                    HttpResponse<String> response = post("/api/orders/place", account.token, cart());
+                    if (response.statusCode() == 200) {
+                        account.lastOrderId = field(response, "id").asLong();
+                    }
+                    yield response.statusCode();
+                }
+                case LIST -> get("/api/orders?size=20", account.token).statusCode();
+                case GET -> get("/api/orders/" + account.lastOrderId, account.token).statusCode();
+            };
+        } catch (IOException e) {
+            status = 0;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+        if (measured) {
+            long latency = System.nanoTime() - scheduled;
+            stats.get(operation).record(latency, status);
+            total.record(latency, status);
+        }
+    }
+
+    private void writeReport() throws IOException {
+        Map<String, Object> report = new LinkedHashMap<>();
+        Map<String, Object> config = new LinkedHashMap<>();
+        config.put("users", users);
+        config.put("products", products);
+        config.put("ratePerSec", rate);
+        config.put("warmupSeconds", warmupSeconds);
+        config.put("durationSeconds", durationSeconds);
+        config.put("mix", mix);
+        config.put("virtualThreads", virtualThreads);
+        config.put("cpus", Runtime.getRuntime().availableProcessors());
+        report.put("config", config);
+        report.put("droppedRequests", dropped.get());
+
+        Map<String, Object> endpoints = new LinkedHashMap<>();
+        for (EndpointStats endpoint : stats.values()) {
+            endpoints.put(endpoint.name(), endpoint.summary(durationSeconds));
+        }
+        report.put("endpoints", endpoints);
+        report.put("total", total.summary(durationSeconds));
+
+        if (reportFile.getParent() != null) {
+            Files.createDirectories(reportFile.getParent());
+        }
+        objectMapper.writer(SerializationFeature.INDENT_OUTPUT).writeValue(reportFile.toFile(), report);
+
+        System.out.printf("%-26s %9s %7s %9s %9s %9s %9s%n", "endpoint", "req/s", "errors", "p50 ms", "p99 ms", "p999 ms", "max ms");
+        endpoints.put(total.name(), report.get("total"));
+        endpoints.forEach((name, value) -> {
+            Map<?, ?> summary = (Map<?, ?>) value;
+            System.out.printf("%-26s %9s %7s %9s %9s %9s %9s%n", name, summary.get("throughputPerSec"),
+                    summary.get("errors"), summary.get("p50Ms"), summary.get("p99Ms"), summary.get("p999Ms"),
+                    summary.get("maxMs"));
+        });
+        System.out.println("Dropped (over max-in-flight): " + dropped.get() + "; report written to " + reportFile);
+    }
+
+    private HttpResponse<String> post(String path, String token, String json) throws IOException, InterruptedException {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(Duration.ofSeconds(30))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json));
+        if (token != null) {
+            request.header("Authorization", "Bearer " + token);
+        }
+        return client.send(request.build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private HttpResponse<String> get(String path, String token) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(Duration.ofSeconds(30))
+                .header("Authorization", "Bearer " + token)
+                .GET()
+                .build();
+        return client.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    private JsonNode field(HttpResponse<String> response, String name) throws IOException {
+        if (response.statusCode() != 200) {
+            throw new IOException(response.uri() + " returned " + response.statusCode() + ": " + response.body());
+        }
+        return objectMapper.readTree(response.body()).path(name);
+    }
+
+    private String credentials(String email) {
+        return "{\"name\":\"Load Test\",\"email\":\"" + email + "\",\"password\":\"" + PASSWORD + "\"}";
+    }
+
+    /**
+     * One to five distinct random products, one or two of each.
+     */
+    private String cart() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int lines = 1 + random.nextInt(5);
+        int first = random.nextInt(productIds.size());
+        StringBuilder json = new StringBuilder("{\"items\":[");
+        for (int i = 0; i < lines; i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            json.append("{\"productId\":").append(productIds.get((first + i) % productIds.size()))
+                    .append(",\"quantity\":").append(1 + random.nextInt(2)).append('}');
+        }
+        return json.append("]}").toString();
+    }
+
+    /**
+     * Expands "login=8,list=45,..." into an array where each operation appears as often as its weight.
+     */
+    static Operation[] parseMix(String mix) {
+        List<Operation> operations = new ArrayList<>();
+        for (String part : mix.split(",")) {
+            String[] entry = part.trim().split("=");
+            if (entry.length != 2) {
+                throw new IllegalArgumentException("Invalid loadtest.mix entry: " + part);
+            }
+            Operation operation = Operation.valueOf(entry[0].trim().toUpperCase());
+            for (int i = Integer.parseInt(entry[1].trim()); i > 0; i--) {
+                operations.add(operation);
+            }
+        }
+        if (operations.isEmpty()) {
+            throw new IllegalArgumentException("loadtest.mix has no operations");
+        }
+        return operations.toArray(new Operation[0]);
+    }
+
+    private static final class Account {
+
+        private final String email;
+        private volatile String token;
+        private volatile long lastOrderId;
+
+        private Account(String email) {
+            this.email = email;
+        }
+    }
+}
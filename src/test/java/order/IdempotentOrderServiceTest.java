@@ -0,0 +1,149 @@
+package order;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.ecom.entity.order.Order;
+import org.ecom.model.order.OrderRequest;
+import org.ecom.model.order.OrderResponse;
+import org.ecom.service.order.IdempotentOrderService;
+import org.ecom.service.order.InMemoryIdempotencyStore;
+import org.ecom.service.order.OrderService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class IdempotentOrderServiceTest {
+
+    private OrderService orderService;
+    private IdempotentOrderService idempotentOrderService;
+    private final AtomicLong ids = new AtomicLong(100);
+
+    @BeforeEach
+    void setUp() {
+        orderService = mock(OrderService.class);
+        idempotentOrderService = new IdempotentOrderService(orderService,
+                new InMemoryIdempotencyStore(1000, Duration.ofHours(1), Duration.ofSeconds(5)), new ObjectMapper());
+        authenticate("buyer@example.com");
+        when(orderService.placeOrder(any())).thenAnswer(invocation -> order(ids.getAndIncrement()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    /**
+     * ✅ A retry with the same key gets the first response and places nothing new.
+     */
+    @Test
+    void shouldReplayResponseForRetriedKey() {
+        OrderResponse first = idempotentOrderService.placeOrder("key-1", request(1L, 2));
+        OrderResponse retry = idempotentOrderService.placeOrder("key-1", request(1L, 2));
+
+        assertSame(first, retry);
+        verify(orderService, times(1)).placeOrder(any());
+    }
+
+    /**
+     * ✅ Keys are per user and per payload.
+     */
+    @Test
+    void shouldScopeKeysToUserAndPayload() {
+        OrderResponse mine = idempotentOrderService.placeOrder("key-1", request(1L, 2));
+
+        ResponseStatusException reused = assertThrows(ResponseStatusException.class,
+                () -> idempotentOrderService.placeOrder("key-1", request(1L, 3)));
+        assertEquals(HttpStatus.UNPROCESSABLE_ENTITY, reused.getStatusCode());
+
+        authenticate("other@example.com");
+        OrderResponse theirs = idempotentOrderService.placeOrder("key-1", request(1L, 2));
+        assertNotEquals(mine.getId(), theirs.getId());
+    }
+
+    /**
+     * ✅ A failed attempt is not remembered, so the client can retry it.
+     */
+    @Test
+    void shouldNotStoreFailures() {
+        when(orderService.placeOrder(any()))
+                .thenThrow(new RuntimeException("Insufficient stock for products: [1]"))
+                .thenAnswer(invocation -> order(7L));
+
+        assertThrows(RuntimeException.class, () -> idempotentOrderService.placeOrder("key-2", request(1L, 1)));
+        assertEquals(7L, idempotentOrderService.placeOrder("key-2", request(1L, 1)).getId());
+    }
+
+    /**
+     * ✅ Concurrent duplicates wait for the in-flight request instead of placing their own order.
+     */
+    @Test
+    void shouldMakeConcurrentDuplicatesWaitForFirstRequest() throws Exception {
+        CountDownLatch placing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(orderService.placeOrder(any())).thenAnswer(invocation -> {
+            placing.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return order(42L);
+        });
+
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        try {
+            Future<OrderResponse> first = pool.submit(() -> placeAs("buyer@example.com", "key-3"));
+            assertTrue(placing.await(5, TimeUnit.SECONDS));
+            List<Future<OrderResponse>> duplicates = List.of(
+                    pool.submit(() -> placeAs("buyer@example.com", "key-3")),
+                    pool.submit(() -> placeAs("buyer@example.com", "key-3")));
+            release.countDown();
+
+            assertEquals(42L, first.get(5, TimeUnit.SECONDS).getId());
+            for (Future<OrderResponse> duplicate : duplicates) {
+                assertEquals(42L, duplicate.get(5, TimeUnit.SECONDS).getId());
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        verify(orderService, times(1)).placeOrder(any());
+    }
+
+    private OrderResponse placeAs(String email, String key) {
+        authenticate(email);
+        try {
+            return idempotentOrderService.placeOrder(key, request(1L, 2));
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+
+    private static void authenticate(String email) {
+        SecurityContextHolder.getContext().setAuthentication(new TestingAuthenticationToken(email, null, "ROLE_USER"));
+    }
+
+    private static OrderRequest request(Long productId, int quantity) {
+        OrderRequest request = new OrderRequest();
+        request.setItems(List.of(new OrderRequest.OrderItemRequest(productId, quantity)));
+        return request;
+    }
+
+    private static Order order(long id) {
+        Order order = new Order();
+        order.setId(id);
+        order.setItems(List.of());
+        return order;
+    }
+}
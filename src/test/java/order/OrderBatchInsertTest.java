@@ -0,0 +1,94 @@
+package order;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.ecom.EcomExpressMain;
+import org.ecom.config.SecondLevelCacheConfig;
+import org.ecom.entity.auth.User;
+import org.ecom.entity.order.Order;
+import org.ecom.entity.order.OrderItem;
+import org.ecom.entity.product.Product;
+import org.ecom.repository.order.OrderRepository;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ContextConfiguration;
+import support.SqlStatementCounter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=support.SqlStatementCounter"
+})
+@ContextConfiguration(classes = EcomExpressMain.class)
+// The slice skips @Configuration classes, and Hibernate fails on a missing products region
+@Import(SecondLevelCacheConfig.class)
+class OrderBatchInsertTest {
+
+    private static final int ITEM_COUNT = 100;
+    // hibernate.jdbc.batch_size and the allocationSize of both order sequences
+    private static final int BATCH_SIZE = 50;
+
+    @Autowired private TestEntityManager entityManager;
+    @Autowired private EntityManagerFactory entityManagerFactory;
+    @Autowired private OrderRepository orderRepository;
+
+    /**
+     * ✅ A 100-item order is written with a handful of batched statements instead of one INSERT per row.
+     */
+    @Test
+    void saveOrder_HundredItems_IsWrittenInBatches() {
+        User user = entityManager.persist(new User(null, "Bulk Buyer", "bulk@example.com", "encoded", "ROLE_USER"));
+        Product product = entityManager.persist(new Product(null, "Widget", "Bulk widget", 2.5, 10_000, "misc", null));
+        entityManager.flush();
+        entityManager.clear();
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        SqlStatementCounter.reset();
+
+        Order order = new Order();
+        order.setUser(entityManager.getEntityManager().getReference(User.class, user.getId()));
+        List<OrderItem> items = new ArrayList<>(ITEM_COUNT);
+        for (int i = 0; i < ITEM_COUNT; i++) {
+            OrderItem item = new OrderItem();
+            item.setOrder(order);
+            item.setProduct(entityManager.getEntityManager().getReference(Product.class, product.getId()));
+            item.setQuantity(1);
+            item.setPrice(2.5);
+            items.add(item);
+        }
+        order.setItems(items);
+        order.setTotalAmount(2.5 * ITEM_COUNT);
+
+        orderRepository.save(order);
+        entityManager.flush();
+
+        assertEquals(ITEM_COUNT + 1, statistics.getEntityInsertCount());
+        // Batched rows share one prepared INSERT per table across JDBC batches; unbatched, every row
+        // would prepare its own
+        assertEquals(1, inserts("orders"));
+        assertEquals(1, inserts("order_items"));
+        // Fresh pooled sequences: the first call hands out id 1 alone, each later one the next BATCH_SIZE ids
+        assertEquals(1, sequenceCalls("orders_seq"));
+        assertEquals(1 + ITEM_COUNT / BATCH_SIZE, sequenceCalls("order_items_seq"));
+        // Nothing else is prepared
+        assertEquals(1 + 1 + 1 + (1 + ITEM_COUNT / BATCH_SIZE), statistics.getPrepareStatementCount(),
+                () -> "Statements: " + SqlStatementCounter.statements());
+    }
+
+    private static long inserts(String table) {
+        return SqlStatementCounter.count("insert into " + table + " ");
+    }
+
+    private static long sequenceCalls(String sequence) {
+        return SqlStatementCounter.statements().stream().filter(sql -> sql.contains(sequence)).count();
+    }
+}
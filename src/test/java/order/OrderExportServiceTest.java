@@ -0,0 +1,108 @@
+package order;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.ecom.EcomExpressMain;
+import org.ecom.entity.auth.User;
+import org.ecom.entity.order.Order;
+import org.ecom.entity.order.OrderItem;
+import org.ecom.entity.product.Product;
+import org.ecom.repository.auth.UserRepository;
+import org.ecom.repository.order.OrderRepository;
+import org.ecom.repository.product.ProductRepository;
+import org.ecom.service.order.OrderExportFormat;
+import org.ecom.service.order.OrderExportService;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(classes = EcomExpressMain.class, properties = {
+        "spring.datasource.url=jdbc:h2:mem:orderexport",
+        "orders.export.fetch-size=2"
+})
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class OrderExportServiceTest {
+
+    private static final LocalDateTime FROM = LocalDateTime.of(2024, 3, 1, 0, 0);
+    private static final LocalDateTime TO = LocalDateTime.of(2024, 4, 1, 0, 0);
+
+    @Autowired private OrderExportService exportService;
+    @Autowired private UserRepository userRepository;
+    @Autowired private ProductRepository productRepository;
+    @Autowired private OrderRepository orderRepository;
+    @Autowired private ObjectMapper objectMapper;
+
+    @BeforeAll
+    void seed() {
+        User user = userRepository.save(new User(null, "Finance", "finance@example.com", "encoded", "ROLE_USER"));
+        Product mouse = productRepository.save(new Product(null, "Mouse, wireless", null, 10.0, 100, "misc", null));
+        Product pad = productRepository.save(new Product(null, "Pad", null, 2.5, 100, "misc", null));
+
+        saveOrder(user, LocalDateTime.of(2024, 3, 2, 10, 0), mouse, pad);
+        saveOrder(user, LocalDateTime.of(2024, 3, 31, 23, 59), pad);
+        saveOrder(user, LocalDateTime.of(2024, 4, 1, 0, 0), mouse);
+    }
+
+    /**
+     * ✅ One line per order with its items, only for orders inside the range.
+     */
+    @Test
+    void shouldStreamOrdersAsNdjson() throws Exception {
+        String[] lines = export(OrderExportFormat.NDJSON).split("\n");
+
+        assertEquals(2, lines.length);
+        JsonNode first = objectMapper.readTree(lines[0]);
+        assertEquals("finance@example.com", first.get("userEmail").asText());
+        assertEquals(2, first.get("items").size());
+        assertEquals("Mouse, wireless", first.get("items").get(0).get("productName").asText());
+        assertEquals(1, objectMapper.readTree(lines[1]).get("items").size());
+    }
+
+    /**
+     * ✅ One CSV row per item, with fields containing commas quoted.
+     */
+    @Test
+    void shouldStreamItemsAsCsv() throws Exception {
+        List<String> lines = List.of(export(OrderExportFormat.CSV).split("\n"));
+
+        assertEquals(4, lines.size());
+        assertTrue(lines.get(0).startsWith("order_id,order_date"));
+        assertTrue(lines.get(1).contains(",\"Mouse, wireless\",1,10.0"));
+    }
+
+    private String export(OrderExportFormat format) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        exportService.export(FROM, TO, format, out);
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    private void saveOrder(User user, LocalDateTime date, Product... products) {
+        Order order = new Order();
+        order.setUser(user);
+        order.setOrderDate(date);
+        List<OrderItem> items = new ArrayList<>();
+        double total = 0;
+        for (Product product : products) {
+            OrderItem item = new OrderItem();
+            item.setOrder(order);
+            item.setProduct(product);
+            item.setQuantity(1);
+            item.setPrice(product.getPrice());
+            items.add(item);
+            total += product.getPrice();
+        }
+        order.setItems(items);
+        order.setTotalAmount(total);
+        orderRepository.save(order);
+    }
+}
@@ -0,0 +1,108 @@
+package order;
+
+import org.ecom.EcomExpressMain;
+import org.ecom.entity.auth.User;
+import org.ecom.entity.order.Order;
+import org.ecom.entity.order.OrderItem;
+import org.ecom.entity.product.Product;
+import org.ecom.repository.auth.UserRepository;
+import org.ecom.repository.order.OrderRepository;
+import org.ecom.repository.product.ProductRepository;
+import org.ecom.security.JwtService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.web.servlet.MockMvc;
+import support.SqlStatementCounter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * SQL statements issued per order endpoint. The counts must not depend on how many orders,
+ * items or products are involved.
+ */
+@SpringBootTest(classes = EcomExpressMain.class, properties = {
+        "spring.datasource.url=jdbc:h2:mem:orderquerycount",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=support.SqlStatementCounter"
+})
+@AutoConfigureMockMvc
+class OrderQueryCountTest {
+
+    private static final int ORDERS = 8;
+    private static final int ITEMS_PER_ORDER = 3;
+
+    @Autowired private MockMvc mockMvc;
+    @Autowired private JwtService jwtService;
+    @Autowired private UserRepository userRepository;
+    @Autowired private ProductRepository productRepository;
+    @Autowired private OrderRepository orderRepository;
+
+    private String token;
+    private Long orderId;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        User user = userRepository.findByEmail("history@example.com").orElse(null);
+        if (user == null) {
+            user = userRepository.save(new User(null, "History", "history@example.com", "encoded", "ROLE_USER"));
+            for (int o = 0; o < ORDERS; o++) {
+                Order order = new Order();
+                order.setUser(user);
+                List<OrderItem> items = new ArrayList<>();
+                for (int i = 0; i < ITEMS_PER_ORDER; i++) {
+                    Product product = productRepository.save(
+                            new Product(null, "Product " + o + "-" + i, null, 5.0, 100, "misc", null));
+                    OrderItem item = new OrderItem();
+                    item.setOrder(order);
+                    item.setProduct(product);
+                    item.setQuantity(1);
+                    item.setPrice(5.0);
+                    items.add(item);
+                }
+                order.setItems(items);
+                order.setTotalAmount(5.0 * ITEMS_PER_ORDER);
+                orderId = orderRepository.save(order).getId();
+            }
+        } else {
+            orderId = orderRepository.findSummariesByUserId(user.getId(), PageRequest.of(0, 1)).get(0).getId();
+        }
+        token = "Bearer " + jwtService.generateToken(user);
+
+        // Warm the user cache so the counts below cover the endpoint itself
+        mockMvc.perform(get("/api/orders").header("Authorization", token)).andExpect(status().isOk());
+    }
+
+    @Test
+    void orderHistory_OneQuery() throws Exception {
+        SqlStatementCounter.assertQueries(1, () ->
+                mockMvc.perform(get("/api/orders").header("Authorization", token))
+                        .andExpect(status().isOk())
+                        .andExpect(jsonPath("$.items.length()").value(ORDERS))
+                        .andExpect(jsonPath("$.items[0].itemCount").value(ITEMS_PER_ORDER)));
+    }
+
+    @Test
+    void orderHistoryWithItems_TwoQueries() throws Exception {
+        SqlStatementCounter.assertQueries(2, () ->
+                mockMvc.perform(get("/api/orders").param("expand", "items").header("Authorization", token))
+                        .andExpect(status().isOk())
+                        .andExpect(jsonPath("$.items.length()").value(ORDERS))
+                        .andExpect(jsonPath("$.items[0].items.length()").value(ITEMS_PER_ORDER)));
+    }
+
+    @Test
+    void orderDetail_OneQuery() throws Exception {
+        SqlStatementCounter.assertQueries(1, () ->
+                mockMvc.perform(get("/api/orders/{id}", orderId).header("Authorization", token))
+                        .andExpect(status().isOk())
+                        .andExpect(jsonPath("$.items.length()").value(ITEMS_PER_ORDER)));
+    }
+}
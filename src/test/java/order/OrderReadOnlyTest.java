@@ -0,0 +1,100 @@
+package order;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.ecom.EcomExpressMain;
+import org.ecom.entity.auth.User;
+import org.ecom.entity.order.Order;
+import org.ecom.entity.order.OrderItem;
+import org.ecom.entity.product.Product;
+import org.ecom.model.order.OrderPage;
+import org.ecom.model.order.OrderResponse;
+import org.ecom.model.order.OrderSummary;
+import org.ecom.repository.auth.UserRepository;
+import org.ecom.repository.order.OrderRepository;
+import org.ecom.repository.product.ProductRepository;
+import org.ecom.service.order.OrderService;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The services behind GET /api/orders and GET /api/orders/{id} must not write anything.
+ */
+@SpringBootTest(classes = EcomExpressMain.class, properties = {
+        "spring.datasource.url=jdbc:h2:mem:orderreads",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+class OrderReadOnlyTest {
+
+    @Autowired private OrderService orderService;
+    @Autowired private OrderRepository orderRepository;
+    @Autowired private ProductRepository productRepository;
+    @Autowired private UserRepository userRepository;
+    @Autowired private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private Order order;
+
+    @BeforeEach
+    void setUp() {
+        User user = userRepository.findByEmail("reader@example.com")
+                .orElseGet(() -> userRepository.save(new User(null, "Reader", "reader@example.com", "encoded", "ROLE_USER")));
+        Product product = productRepository.save(new Product(null, "Book", "Paperback", 12.0, 50, "books", null));
+
+        order = new Order();
+        order.setUser(user);
+        OrderItem item = new OrderItem();
+        item.setOrder(order);
+        item.setProduct(product);
+        item.setQuantity(2);
+        item.setPrice(24.0);
+        order.setItems(List.of(item));
+        order.setTotalAmount(24.0);
+        order = orderRepository.save(order);
+
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(user.getEmail(), null, List.of()));
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void getUserOrders_IssuesNoDml() {
+        OrderPage<OrderSummary> orders = orderService.getUserOrders(null, null);
+
+        assertFalse(orders.getItems().isEmpty());
+        assertNoWrites();
+    }
+
+    @Test
+    void getOrderById_IssuesNoDml() {
+        OrderResponse result = orderService.getOrderById(order.getId());
+
+        assertEquals(order.getId(), result.getId());
+        assertEquals(1, result.getItems().size());
+        assertNoWrites();
+    }
+
+    private void assertNoWrites() {
+        assertEquals(0, statistics.getEntityInsertCount(), "inserts");
+        assertEquals(0, statistics.getEntityUpdateCount(), "updates");
+        assertEquals(0, statistics.getEntityDeleteCount(), "deletes");
+        assertEquals(0, statistics.getFlushCount(), "read-only transactions must not flush");
+    }
+}
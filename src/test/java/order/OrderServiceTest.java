@@ -1,20 +1,35 @@
 package order;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.ecom.entity.auth.User;
 import org.ecom.entity.order.Order;
+import org.ecom.entity.order.OrderItem;
 import org.ecom.entity.product.Product;
+import org.ecom.model.order.BatchOrderResponse;
+import org.ecom.model.order.OrderPage;
+import org.ecom.model.order.OrderPlacedEvent;
 import org.ecom.model.order.OrderRequest;
+import org.ecom.model.order.OrderResponse;
+import org.ecom.model.order.OrderSummary;
 import org.ecom.repository.auth.UserRepository;
 import org.ecom.repository.order.OrderRepository;
 import org.ecom.repository.product.ProductRepository;
+import org.ecom.security.JwtClaims;
+import org.ecom.service.auth.UserCache;
 import org.ecom.service.order.OrderService;
+import org.ecom.service.outbox.Outbox;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.*;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Date;
 import java.util.List;
 import java.util.Optional;
 
@@ -26,10 +41,12 @@ class OrderServiceTest {
     @Mock private OrderRepository orderRepository;
     @Mock private UserRepository userRepository;
     @Mock private ProductRepository productRepository;
+    @Mock private Outbox outbox;
     @Mock private Authentication authentication;
     @Mock private SecurityContext securityContext;
 
-    @InjectMocks private OrderService orderService;
+    private OrderService orderService;
+    private SimpleMeterRegistry meterRegistry;
 
     private User user;
     private Product product1;
@@ -41,6 +58,9 @@ class OrderServiceTest {
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
+        meterRegistry = new SimpleMeterRegistry();
+        orderService = new OrderService(orderRepository, userRepository, productRepository,
+                new UserCache(userRepository, 100, Duration.ofMinutes(5), meterRegistry), outbox, meterRegistry);
 
         user = new User();
         user.setId(1L);
@@ -67,6 +87,8 @@ class OrderServiceTest {
         when(securityContext.getAuthentication()).thenReturn(authentication);
         when(authentication.getName()).thenReturn("test@example.com");
         SecurityContextHolder.setContext(securityContext);
+
+        when(productRepository.decrementStock(anyLong(), anyInt())).thenReturn(1);
     }
 
     /**
@@ -82,7 +104,7 @@ class OrderServiceTest {
         request.setItems(List.of(item));
 
         when(userRepository.findByEmail("test@example.com")).thenReturn(Optional.of(user));
-        when(productRepository.findById(1L)).thenReturn(Optional.of(product1));
+        when(productRepository.findAllById(any())).thenReturn(List.of(product1));
         when(orderRepository.save(any(Order.class))).thenAnswer(invocation -> invocation.getArgument(0));
 
         Order result = orderService.placeOrder(request);
@@ -103,8 +125,7 @@ class OrderServiceTest {
         request.setItems(List.of(i1, i2));
 
         when(userRepository.findByEmail("test@example.com")).thenReturn(Optional.of(user));
-        when(productRepository.findById(1L)).thenReturn(Optional.of(product1));
-        when(productRepository.findById(2L)).thenReturn(Optional.of(product2));
+        when(productRepository.findAllById(any())).thenReturn(List.of(product1, product2));
         when(orderRepository.save(any(Order.class))).thenAnswer(invocation -> invocation.getArgument(0));
 
         Order result = orderService.placeOrder(request);
@@ -123,14 +144,17 @@ class OrderServiceTest {
         request.setItems(List.of(item));
 
         when(userRepository.findByEmail("test@example.com")).thenReturn(Optional.of(user));
-        when(productRepository.findById(1L)).thenReturn(Optional.of(product1));
+        when(productRepository.findAllById(any())).thenReturn(List.of(product1));
         when(orderRepository.save(any(Order.class))).thenAnswer(invocation -> invocation.getArgument(0));
 
         Order result = orderService.placeOrder(request);
 
         verify(orderRepository, times(1)).save(any(Order.class));
+        verify(outbox).enqueue(eq(OrderPlacedEvent.TYPE), any(), any(OrderPlacedEvent.class));
         assertEquals(1, result.getItems().size());
         assertEquals(3, result.getItems().get(0).getQuantity());
+        assertEquals(1, meterRegistry.get("orders.place").tag("outcome", "success").timer().count());
+        assertEquals(1, meterRegistry.get("orders.place.cart.size").summary().totalAmount());
     }
 
     /**
@@ -143,7 +167,7 @@ class OrderServiceTest {
         request.setItems(List.of(item));
 
         when(userRepository.findByEmail("test@example.com")).thenReturn(Optional.of(user));
-        when(productRepository.findById(2L)).thenReturn(Optional.of(product2));
+        when(productRepository.findAllById(any())).thenReturn(List.of(product2));
         when(orderRepository.save(any(Order.class))).thenAnswer(invocation -> invocation.getArgument(0));
 
         Order result = orderService.placeOrder(request);
@@ -161,7 +185,7 @@ class OrderServiceTest {
         request.setItems(List.of(i1));
 
         when(userRepository.findByEmail("test@example.com")).thenReturn(Optional.of(user));
-        when(productRepository.findById(1L)).thenReturn(Optional.of(product1));
+        when(productRepository.findAllById(any())).thenReturn(List.of(product1));
         when(orderRepository.save(any(Order.class))).thenAnswer(invocation -> invocation.getArgument(0));
 
         Order order = orderService.placeOrder(request);
@@ -172,32 +196,196 @@ class OrderServiceTest {
         assertEquals("Laptop", order.getItems().get(0).getProduct().getName());
     }
 
+    /**
+     * ✅ 6. With stateless authentication the user id from the token is used without a lookup.
+     */
     @Test
-    void getUserOrders_ShouldFetchAndResaveOrders() {
+    void placeOrder_StatelessPrincipal_SkipsUserLookup() {
+        JwtClaims claims = new JwtClaims("test@example.com", 1L, "ROLE_USER", new Date(System.currentTimeMillis() + 60_000));
+        when(authentication.getPrincipal()).thenReturn(claims);
+
+        OrderRequest request = new OrderRequest();
+        request.setItems(List.of(new OrderRequest.OrderItemRequest(1L, 1)));
+
+        when(userRepository.getReferenceById(1L)).thenReturn(user);
+        when(productRepository.findAllById(any())).thenReturn(List.of(product1));
+        when(orderRepository.save(any(Order.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        Order result = orderService.placeOrder(request);
+
+        assertEquals(user, result.getUser());
+        verify(userRepository, never()).findByEmail(anyString());
+    }
+
+    /**
+     * ✅ 7. Products are loaded once per distinct id, however many lines reference them.
+     */
+    @Test
+    @SuppressWarnings("unchecked")
+    void placeOrder_LoadsDistinctProductsInOneQuery() {
+        OrderRequest request = new OrderRequest();
+        request.setItems(List.of(
+                new OrderRequest.OrderItemRequest(1L, 1),
+                new OrderRequest.OrderItemRequest(2L, 1),
+                new OrderRequest.OrderItemRequest(1L, 2)));
+
         when(userRepository.findByEmail("test@example.com")).thenReturn(Optional.of(user));
-        when(orderRepository.findByUser(user)).thenReturn(List.of(order1, order2));
+        when(productRepository.findAllById(any())).thenReturn(List.of(product1, product2));
         when(orderRepository.save(any(Order.class))).thenAnswer(invocation -> invocation.getArgument(0));
 
-        List<Order> result = orderService.getUserOrders();
+        Order result = orderService.placeOrder(request);
+
+        ArgumentCaptor<Iterable<Long>> ids = ArgumentCaptor.forClass(Iterable.class);
+        verify(productRepository, times(1)).findAllById(ids.capture());
+        assertIterableEquals(List.of(1L, 2L), ids.getValue());
+        verify(productRepository, never()).findById(anyLong());
+        assertEquals(3, result.getItems().size());
+        assertEquals(3 * 50000.0 + 1500.0, result.getTotalAmount());
+        assertEquals(2, meterRegistry.get("orders.place.cart.size").summary().totalAmount());
+    }
+
+    /**
+     * ✅ 8. All unknown product ids are reported in one error.
+     */
+    @Test
+    void placeOrder_ReportsAllMissingProductsTogether() {
+        OrderRequest request = new OrderRequest();
+        request.setItems(List.of(
+                new OrderRequest.OrderItemRequest(1L, 1),
+                new OrderRequest.OrderItemRequest(8L, 1),
+                new OrderRequest.OrderItemRequest(9L, 1)));
+
+        when(userRepository.findByEmail("test@example.com")).thenReturn(Optional.of(user));
+        when(productRepository.findAllById(any())).thenReturn(List.of(product1));
+
+        RuntimeException ex = assertThrows(RuntimeException.class, () -> orderService.placeOrder(request));
+        assertEquals("Products not found: [8, 9]", ex.getMessage());
+        verify(orderRepository, never()).save(any(Order.class));
+    }
+
+    /**
+     * ✅ 9. Stock is reserved once per product, in ascending id order, with the summed quantity.
+     */
+    @Test
+    void placeOrder_ReservesStockPerProductInIdOrder() {
+        OrderRequest request = new OrderRequest();
+        request.setItems(List.of(
+                new OrderRequest.OrderItemRequest(2L, 1),
+                new OrderRequest.OrderItemRequest(1L, 1),
+                new OrderRequest.OrderItemRequest(2L, 3)));
+
+        when(userRepository.findByEmail("test@example.com")).thenReturn(Optional.of(user));
+        when(productRepository.findAllById(any())).thenReturn(List.of(product1, product2));
+        when(orderRepository.save(any(Order.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        orderService.placeOrder(request);
+
+        InOrder inOrder = inOrder(productRepository);
+        inOrder.verify(productRepository).decrementStock(1L, 1);
+        inOrder.verify(productRepository).decrementStock(2L, 4);
+        verify(productRepository, times(2)).decrementStock(anyLong(), anyInt());
+    }
+
+    /**
+     * ✅ 10. The order is rejected when any product lacks stock.
+     */
+    @Test
+    void placeOrder_InsufficientStock_Throws() {
+        OrderRequest request = new OrderRequest();
+        request.setItems(List.of(
+                new OrderRequest.OrderItemRequest(1L, 1),
+                new OrderRequest.OrderItemRequest(2L, 5)));
+
+        when(userRepository.findByEmail("test@example.com")).thenReturn(Optional.of(user));
+        when(productRepository.findAllById(any())).thenReturn(List.of(product1, product2));
+        when(productRepository.decrementStock(2L, 5)).thenReturn(0);
+
+        RuntimeException ex = assertThrows(RuntimeException.class, () -> orderService.placeOrder(request));
+        assertEquals("Insufficient stock for products: [2]", ex.getMessage());
+        verify(orderRepository, never()).save(any(Order.class));
+    }
+
+    @Test
+    void getUserOrders_ShouldFetchWithoutSaving() {
+        OrderSummary s1 = new OrderSummary(100L, LocalDateTime.of(2026, 5, 2, 10, 0), 10.0, 1L);
+        OrderSummary s2 = new OrderSummary(101L, LocalDateTime.of(2026, 5, 1, 10, 0), 20.0, 2L);
+        when(userRepository.findByEmail("test@example.com")).thenReturn(Optional.of(user));
+        when(orderRepository.findSummariesByUserId(eq(1L), any(Pageable.class))).thenReturn(List.of(s1, s2));
+
+        OrderPage<OrderSummary> result = orderService.getUserOrders(null, null);
 
-        assertEquals(2, result.size());
-        verify(orderRepository, times(2)).save(any(Order.class)); // each order re-saved
+        assertEquals(2, result.getItems().size());
+        assertNull(result.getNextCursor());
+        verify(orderRepository, never()).save(any(Order.class));
     }
 
     /**
-     * ✅ Fetch one order by ID, persist it again.
+     * ✅ A full page returns a cursor that resumes right after its last order.
      */
     @Test
-    void getOrderById_ShouldFetchAndResaveOrder() {
+    void getUserOrders_FullPage_ReturnsCursorForNextPage() {
+        OrderSummary s1 = new OrderSummary(100L, LocalDateTime.of(2026, 5, 2, 10, 0), 10.0, 1L);
+        OrderSummary s2 = new OrderSummary(101L, LocalDateTime.of(2026, 5, 1, 10, 0), 20.0, 2L);
+        OrderSummary s3 = new OrderSummary(99L, LocalDateTime.of(2026, 4, 30, 10, 0), 30.0, 3L);
+
         when(userRepository.findByEmail("test@example.com")).thenReturn(Optional.of(user));
-        when(orderRepository.findById(100L)).thenReturn(Optional.of(order1));
-        when(orderRepository.save(order1)).thenReturn(order1);
+        when(orderRepository.findSummariesByUserId(eq(1L), any(Pageable.class))).thenReturn(List.of(s1, s2, s3));
+        when(orderRepository.findSummariesByUserIdAfter(eq(1L), eq(s2.getOrderDate()), eq(101L), any(Pageable.class)))
+                .thenReturn(List.of(s3));
+
+        OrderPage<OrderSummary> first = orderService.getUserOrders(null, 2);
+
+        assertEquals(List.of(s1, s2), first.getItems());
+        assertNotNull(first.getNextCursor());
 
-        Order result = orderService.getOrderById(100L);
+        OrderPage<OrderSummary> second = orderService.getUserOrders(first.getNextCursor(), 2);
+
+        assertEquals(List.of(s3), second.getItems());
+        assertNull(second.getNextCursor());
+        verify(orderRepository).findSummariesByUserId(1L, PageRequest.of(0, 3));
+    }
+
+    @Test
+    void getUserOrders_PageSizeIsCapped() {
+        when(userRepository.findByEmail("test@example.com")).thenReturn(Optional.of(user));
+        when(orderRepository.findSummariesByUserId(eq(1L), any(Pageable.class))).thenReturn(List.of());
+
+        orderService.getUserOrders(null, 10_000);
+
+        verify(orderRepository).findSummariesByUserId(1L, PageRequest.of(0, 101));
+    }
+
+    @Test
+    void getUserOrders_InvalidCursor_Throws() {
+        when(userRepository.findByEmail("test@example.com")).thenReturn(Optional.of(user));
+
+        assertThrows(IllegalArgumentException.class, () -> orderService.getUserOrders("not-a-cursor", null));
+    }
+
+    /**
+     * ✅ Fetch one order by ID, with items, without writing it back.
+     */
+    @Test
+    void getOrderById_ShouldFetchWithoutSaving() {
+        OrderItem item = new OrderItem();
+        item.setOrder(order1);
+        item.setProduct(product1);
+        item.setQuantity(2);
+        item.setPrice(100000.0);
+        order1.setItems(List.of(item));
+        order1.setTotalAmount(100000.0);
+
+        when(userRepository.findByEmail("test@example.com")).thenReturn(Optional.of(user));
+        when(orderRepository.findWithItemsById(100L)).thenReturn(Optional.of(order1));
+
+        OrderResponse result = orderService.getOrderById(100L);
 
         assertNotNull(result);
-        assertEquals(order1, result);
-        verify(orderRepository, times(1)).save(order1); // order re-saved
+        assertEquals(100L, result.getId());
+        assertEquals(100000.0, result.getTotalAmount());
+        assertEquals(1, result.getItems().size());
+        assertEquals("Laptop", result.getItems().get(0).getProductName());
+        verify(orderRepository, never()).save(any(Order.class));
     }
 
     /**
@@ -212,7 +400,7 @@ class OrderServiceTest {
         otherOrder.setUser(another);
 
         when(userRepository.findByEmail("test@example.com")).thenReturn(Optional.of(user));
-        when(orderRepository.findById(200L)).thenReturn(Optional.of(otherOrder));
+        when(orderRepository.findWithItemsById(200L)).thenReturn(Optional.of(otherOrder));
 
         RuntimeException ex = assertThrows(RuntimeException.class, () -> orderService.getOrderById(200L));
         assertEquals("Access denied: not your order", ex.getMessage());
@@ -224,7 +412,7 @@ class OrderServiceTest {
     @Test
     void getOrderById_ShouldThrowIfOrderNotFound() {
         when(userRepository.findByEmail("test@example.com")).thenReturn(Optional.of(user));
-        when(orderRepository.findById(999L)).thenReturn(Optional.empty());
+        when(orderRepository.findWithItemsById(999L)).thenReturn(Optional.empty());
 
         assertThrows(RuntimeException.class, () -> orderService.getOrderById(999L));
     }
@@ -235,6 +423,50 @@ class OrderServiceTest {
     @Test
     void getUserOrders_ShouldThrowIfUserNotFound() {
         when(userRepository.findByEmail("test@example.com")).thenReturn(Optional.empty());
-        assertThrows(RuntimeException.class, () -> orderService.getUserOrders());
+        assertThrows(RuntimeException.class, () -> orderService.getUserOrders(null, null));
+    }
+
+    /**
+     * ✅ Batch placement allocates stock in submission order and rejects only the orders it cannot serve.
+     */
+    @Test
+    void placeOrders_PartialSuccess() {
+        product1.setStock(3);
+        product2.setStock(10);
+        when(userRepository.findByEmail("test@example.com")).thenReturn(Optional.of(user));
+        when(productRepository.findAllByIdForUpdate(any())).thenReturn(List.of(product1, product2));
+        when(orderRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        BatchOrderResponse response = orderService.placeOrders(List.of(
+                orderOf(new OrderRequest.OrderItemRequest(1L, 2), new OrderRequest.OrderItemRequest(2L, 1)),
+                orderOf(new OrderRequest.OrderItemRequest(1L, 2)),
+                orderOf(new OrderRequest.OrderItemRequest(99L, 1)),
+                orderOf(new OrderRequest.OrderItemRequest(2L, 0)),
+                orderOf(new OrderRequest.OrderItemRequest(1L, 1), new OrderRequest.OrderItemRequest(2L, 9))
+        ));
+
+        assertEquals(2, response.getPlaced());
+        assertEquals(3, response.getRejected());
+        assertEquals(BatchOrderResponse.Status.PLACED, response.getResults().get(0).getStatus());
+        assertEquals("Insufficient stock for products: [1]", response.getResults().get(1).getError());
+        assertEquals("Products not found: [99]", response.getResults().get(2).getError());
+        assertEquals("Quantity must be positive for product 2", response.getResults().get(3).getError());
+        assertEquals(BatchOrderResponse.Status.PLACED, response.getResults().get(4).getStatus());
+        assertEquals(0, product1.getStock());
+        assertEquals(0, product2.getStock());
+        verify(productRepository).findAllByIdForUpdate(argThat(ids -> ids.size() == 3 && ids.containsAll(List.of(1L, 2L, 99L))));
+        verify(orderRepository).saveAll(argThat(orders -> ((List<?>) orders).size() == 2));
+        verify(productRepository, never()).decrementStock(anyLong(), anyInt());
+    }
+
+    @Test
+    void placeOrders_RejectsEmptyBatch() {
+        assertThrows(IllegalArgumentException.class, () -> orderService.placeOrders(List.of()));
+    }
+
+    private static OrderRequest orderOf(OrderRequest.OrderItemRequest... items) {
+        OrderRequest request = new OrderRequest();
+        request.setItems(List.of(items));
+        return request;
     }
 }
@@ -0,0 +1,94 @@
+package order;
+
+import org.ecom.EcomExpressMain;
+import org.ecom.entity.auth.User;
+import org.ecom.entity.product.Product;
+import org.ecom.model.order.OrderRequest;
+import org.ecom.repository.auth.UserRepository;
+import org.ecom.repository.order.OrderRepository;
+import org.ecom.repository.product.ProductRepository;
+import org.ecom.security.JwtClaims;
+import org.ecom.service.order.OrderService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.Date;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Hammers a single hot SKU from many threads and checks that stock is never oversold.
+ */
+@SpringBootTest(classes = EcomExpressMain.class,
+        properties = "spring.datasource.url=jdbc:h2:mem:stockconcurrency;LOCK_TIMEOUT=10000")
+class OrderStockConcurrencyTest {
+
+    private static final int INITIAL_STOCK = 100;
+    private static final int THREADS = 16;
+    private static final int ATTEMPTS = 400;
+
+    @Autowired private OrderService orderService;
+    @Autowired private OrderRepository orderRepository;
+    @Autowired private ProductRepository productRepository;
+    @Autowired private UserRepository userRepository;
+
+    @Test
+    void placeOrder_ConcurrentCheckoutsOnHotSku_NeverOversell() throws Exception {
+        User user = userRepository.save(new User(null, "Hot Buyer", "hot@example.com", "encoded", "ROLE_USER"));
+        Product product = productRepository.save(new Product(null, "Hot SKU", "Limited", 10.0, INITIAL_STOCK, "deals", null));
+        JwtClaims principal = new JwtClaims(user.getEmail(), user.getId(), user.getRole(),
+                new Date(System.currentTimeMillis() + 60_000));
+
+        AtomicInteger placed = new AtomicInteger();
+        AtomicInteger outOfStock = new AtomicInteger();
+        Queue<Throwable> unexpected = new ConcurrentLinkedQueue<>();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+
+        for (int i = 0; i < ATTEMPTS; i++) {
+            pool.submit(() -> {
+                SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                        principal, null, AuthorityUtils.createAuthorityList(principal.getRole())));
+                try {
+                    start.await();
+                    OrderRequest request = new OrderRequest();
+                    request.setItems(List.of(new OrderRequest.OrderItemRequest(product.getId(), 1)));
+                    orderService.placeOrder(request);
+                    placed.incrementAndGet();
+                } catch (RuntimeException e) {
+                    if (e.getMessage() != null && e.getMessage().startsWith("Insufficient stock")) {
+                        outOfStock.incrementAndGet();
+                    } else {
+                        unexpected.add(e);
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    SecurityContextHolder.clearContext();
+                }
+            });
+        }
+        start.countDown();
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(2, TimeUnit.MINUTES), "Checkouts did not finish in time");
+
+        assertTrue(unexpected.isEmpty(), () -> "Unexpected failures: " + unexpected);
+        int finalStock = productRepository.findById(product.getId()).orElseThrow().getStock();
+        assertEquals(INITIAL_STOCK, placed.get());
+        assertEquals(ATTEMPTS - INITIAL_STOCK, outOfStock.get());
+        assertEquals(0, finalStock);
+        assertEquals(placed.get(), orderRepository.count());
+    }
+}
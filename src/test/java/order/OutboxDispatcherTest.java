@@ -0,0 +1,182 @@
+package order;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.ecom.EcomExpressMain;
+import org.ecom.entity.auth.User;
+import org.ecom.entity.order.Order;
+import org.ecom.entity.outbox.OutboxEvent;
+import org.ecom.entity.product.Product;
+import org.ecom.model.order.OrderPlacedEvent;
+import org.ecom.model.order.OrderRequest;
+import org.ecom.repository.auth.UserRepository;
+import org.ecom.repository.outbox.OutboxEventRepository;
+import org.ecom.repository.product.ProductRepository;
+import org.ecom.security.JwtClaims;
+import org.ecom.service.order.OrderService;
+import org.ecom.service.outbox.Outbox;
+import org.ecom.service.outbox.OutboxDispatcher;
+import org.ecom.service.outbox.OutboxHandler;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.IllegalTransactionStateException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(classes = {EcomExpressMain.class, OutboxDispatcherTest.Handlers.class}, properties = {
+        "spring.datasource.url=jdbc:h2:mem:outbox",
+        "outbox.dispatch.enabled=false",
+        "outbox.dispatch.max-attempts=2",
+        "outbox.dispatch.initial-backoff=0s"
+})
+class OutboxDispatcherTest {
+
+    @Autowired private Outbox outbox;
+    @Autowired private OutboxDispatcher dispatcher;
+    @Autowired private OutboxEventRepository outboxEventRepository;
+    @Autowired private TransactionTemplate transactionTemplate;
+    @Autowired private RecordingHandler handler;
+    @Autowired private OrderService orderService;
+    @Autowired private UserRepository userRepository;
+    @Autowired private ProductRepository productRepository;
+    @Autowired private ObjectMapper objectMapper;
+
+    @BeforeEach
+    void setUp() {
+        outboxEventRepository.deleteAll();
+        handler.received.clear();
+    }
+
+    /**
+     * ✅ Events are only written inside a caller's transaction.
+     */
+    @Test
+    void enqueue_RequiresTransaction() {
+        assertThrows(IllegalTransactionStateException.class,
+                () -> outbox.enqueue("TEST", 1L, Map.of("ok", true)));
+    }
+
+    /**
+     * ✅ Committed events are delivered once and marked processed.
+     */
+    @Test
+    void dispatchBatch_DeliversAndMarksProcessed() {
+        transactionTemplate.executeWithoutResult(status -> {
+            outbox.enqueue("TEST", 1L, Map.of("ok", true));
+            outbox.enqueue("TEST", 2L, Map.of("ok", true));
+        });
+
+        assertEquals(2, dispatcher.dispatchBatch());
+        assertEquals(0, dispatcher.dispatchBatch());
+
+        assertEquals(List.of(1L, 2L), handler.received);
+        assertEquals(2, outboxEventRepository.countByStatus(OutboxEvent.Status.PROCESSED));
+    }
+
+    /**
+     * ✅ A failing event is retried, then given up on after max-attempts.
+     */
+    @Test
+    void dispatchBatch_RetriesThenFails() {
+        transactionTemplate.executeWithoutResult(status -> outbox.enqueue("TEST", 7L, Map.of("ok", false)));
+
+        assertEquals(1, dispatcher.dispatchBatch());
+        OutboxEvent retried = outboxEventRepository.findAll().get(0);
+        assertEquals(OutboxEvent.Status.PENDING, retried.getStatus());
+        assertEquals(1, retried.getAttempts());
+
+        assertEquals(1, dispatcher.dispatchBatch());
+        OutboxEvent failed = outboxEventRepository.findAll().get(0);
+        assertEquals(OutboxEvent.Status.FAILED, failed.getStatus());
+        assertEquals(2, failed.getAttempts());
+        assertTrue(failed.getLastError().contains("rejected"));
+        assertEquals(0, dispatcher.dispatchBatch());
+    }
+
+    /**
+     * ✅ An event rolled back with its transaction is never delivered.
+     */
+    @Test
+    void enqueue_RolledBackWithCaller() {
+        transactionTemplate.executeWithoutResult(status -> {
+            outbox.enqueue("TEST", 3L, Map.of("ok", true));
+            status.setRollbackOnly();
+        });
+
+        assertEquals(0, dispatcher.dispatchBatch());
+        assertTrue(handler.received.isEmpty());
+    }
+
+    /**
+     * ✅ A cart with hundreds of lines is written to the outbox in full, in the checkout transaction.
+     */
+    @Test
+    void placeOrder_LargeCart_EventHoldsEveryLine() throws Exception {
+        int lines = 400;
+        User user = userRepository.save(new User(null, "Bulk Buyer", "bulk@example.com", "encoded", "ROLE_USER"));
+        List<OrderRequest.OrderItemRequest> items = new ArrayList<>(lines);
+        for (int i = 0; i < lines; i++) {
+            Product product = productRepository.save(new Product(null, "Part " + i, null, 1.5, 10, "parts", null));
+            items.add(new OrderRequest.OrderItemRequest(product.getId(), 2));
+        }
+        OrderRequest request = new OrderRequest();
+        request.setItems(items);
+
+        JwtClaims principal = new JwtClaims(user.getEmail(), user.getId(), user.getRole(),
+                new Date(System.currentTimeMillis() + 60_000));
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                principal, null, AuthorityUtils.createAuthorityList(principal.getRole())));
+        Order placed;
+        try {
+            placed = orderService.placeOrder(request);
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+
+        List<OutboxEvent> events = outboxEventRepository.findAll();
+        assertEquals(1, events.size());
+        OrderPlacedEvent event = objectMapper.readValue(events.get(0).getPayload(), OrderPlacedEvent.class);
+        assertEquals(placed.getId(), event.getOrderId());
+        assertEquals(lines, event.getItems().size());
+    }
+
+    static class RecordingHandler implements OutboxHandler {
+
+        final List<Long> received = new CopyOnWriteArrayList<>();
+
+        @Override
+        public boolean supports(String type) {
+            return "TEST".equals(type);
+        }
+
+        @Override
+        public void handle(OutboxEvent event) {
+            if (event.getPayload().contains("false")) {
+                throw new IllegalStateException("rejected");
+            }
+            received.add(event.getAggregateId());
+        }
+    }
+
+    @TestConfiguration
+    static class Handlers {
+
+        @Bean
+        RecordingHandler recordingHandler() {
+            return new RecordingHandler();
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package product;
+
+import org.ecom.entity.product.Product;
+import org.ecom.model.product.ProductDto;
+import org.ecom.repository.product.ProductRepository;
+import org.ecom.service.product.CatalogSnapshot;
+import org.ecom.service.product.ProductCatalog;
+import org.ecom.service.product.ProductsChangedEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class ProductCatalogTest {
+
+    @Mock private ProductRepository productRepository;
+
+    private ProductCatalog catalog;
+    private Product laptop;
+    private Product mouse;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        catalog = new ProductCatalog(productRepository, Duration.ofMinutes(10));
+
+        laptop = new Product(2L, "Laptop", "14 inch", 50000.0, 5, "Electronics", null);
+        mouse = new Product(1L, "Mouse", "Wireless", 1500.0, 40, "electronics", null);
+        when(productRepository.findAll()).thenReturn(List.of(laptop, mouse));
+    }
+
+    /**
+     * ✅ Once warm, reads are served from memory without touching the repository.
+     */
+    @Test
+    void snapshot_IsBuiltOnceAndReused() {
+        CatalogSnapshot first = catalog.snapshot();
+        CatalogSnapshot second = catalog.snapshot();
+
+        assertSame(first, second);
+        assertEquals(1, first.getVersion());
+        verify(productRepository, times(1)).findAll();
+    }
+
+    @Test
+    void snapshot_IndexesByIdAndCategory() {
+        CatalogSnapshot snapshot = catalog.snapshot();
+
+        assertEquals(List.of(1L, 2L), snapshot.getProducts().stream().map(p -> p.getId()).toList());
+        assertEquals("Laptop", snapshot.getProduct(2L).getName());
+        assertNull(snapshot.getProduct(3L));
+        assertEquals(2, snapshot.getByCategory("ELECTRONICS").size());
+        assertTrue(snapshot.getByCategory("books").isEmpty());
+    }
+
+    /**
+     * ✅ Product changes are applied to a new snapshot version without reloading the catalog.
+     */
+    @Test
+    void productsChanged_AppliesDeltaWithoutReload() {
+        CatalogSnapshot before = catalog.snapshot();
+
+        catalog.onProductsChanged(ProductsChangedEvent.upserted(
+                new ProductDto(3L, "Keyboard", null, 2500.0, 10, "electronics", null)));
+        catalog.onProductsChanged(ProductsChangedEvent.upserted(
+                new ProductDto(2L, "Laptop Pro", "16 inch", 90000.0, 2, "Computers", null)));
+        catalog.onProductsChanged(ProductsChangedEvent.removed(1L));
+        CatalogSnapshot after = catalog.snapshot();
+
+        assertEquals(before.getVersion() + 3, after.getVersion());
+        assertEquals(List.of(2L, 3L), after.getProducts().stream().map(p -> p.getId()).toList());
+        assertEquals("Laptop Pro", after.getProduct(2L).getName());
+        assertNull(after.getProduct(1L));
+        assertEquals(List.of(3L), after.getByCategory("Electronics").stream().map(p -> p.getId()).toList());
+        assertEquals(1, after.getFacets().filter(80000.0, null, false, null).getTotal());
+        assertEquals("Mouse", before.getProduct(1L).getName());
+        verify(productRepository, times(1)).findAll();
+    }
+
+    /**
+     * ✅ A bulk reload reads the catalog from the database again.
+     */
+    @Test
+    void reload_RebuildsFromRepository() {
+        CatalogSnapshot before = catalog.snapshot();
+        Product keyboard = new Product(3L, "Keyboard", null, 2500.0, 10, "electronics", null);
+        when(productRepository.findAll()).thenReturn(List.of(laptop, mouse, keyboard));
+
+        catalog.onProductsChanged(ProductsChangedEvent.reloaded());
+
+        CatalogSnapshot after = catalog.snapshot();
+        assertEquals(before.getVersion() + 1, after.getVersion());
+        assertEquals("Keyboard", after.getProduct(3L).getName());
+    }
+}
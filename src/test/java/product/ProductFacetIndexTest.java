@@ -0,0 +1,100 @@
+package product;
+
+import org.ecom.model.product.ProductDto;
+import org.ecom.service.product.ProductFacetIndex;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProductFacetIndexTest {
+
+    private static final List<ProductDto> PRODUCTS = List.of(
+            new ProductDto(1L, "Mouse", null, 15.00, 40, "Electronics", null),
+            new ProductDto(2L, "Laptop", null, 500.00, 0, "Electronics", null),
+            new ProductDto(3L, "Kettle", null, 25.50, 3, "Kitchen", null),
+            new ProductDto(4L, "Blender", null, 80.00, 7, "kitchen", null),
+            new ProductDto(5L, "Tent", null, 120.00, 1, "Outdoors", null)
+    );
+
+    /**
+     * ✅ Range and stock filters apply to facet counts; the category filter only to the matches.
+     */
+    @Test
+    void shouldCountFacetsIgnoringTheCategoryFilter() {
+        ProductFacetIndex index = ProductFacetIndex.build(PRODUCTS);
+
+        ProductFacetIndex.Result result = index.filter(20.0, 150.0, true, List.of("KITCHEN"));
+
+        assertEquals(2, result.getTotal());
+        assertArrayEquals(new int[]{2, 3}, result.rows(0, 10));
+        assertEquals(Map.of("Kitchen", 2, "Outdoors", 1), result.getCategoryCounts());
+    }
+
+    @Test
+    void shouldTreatPriceBoundsAsInclusiveCents() {
+        ProductFacetIndex index = ProductFacetIndex.build(PRODUCTS);
+
+        assertEquals(1, index.filter(25.50, 25.50, false, null).getTotal());
+        assertEquals(0, index.filter(25.51, 79.99, false, null).getTotal());
+        assertEquals(0, index.filter(null, null, false, List.of("Garden")).getTotal());
+    }
+
+    /**
+     * ✅ Products without a price match only when no price bound is given.
+     */
+    @Test
+    void shouldExcludeUnpricedProductsFromPriceBounds() {
+        List<ProductDto> products = new ArrayList<>(PRODUCTS);
+        products.add(new ProductDto(6L, "Sample", null, null, 5, "Kitchen", null));
+        ProductFacetIndex index = ProductFacetIndex.build(products);
+
+        assertEquals(6, index.filter(null, null, false, null).getTotal());
+        assertEquals(1, index.filter(null, 20.0, false, null).getTotal());
+        assertEquals(5, index.filter(0.0, null, false, null).getTotal());
+        assertEquals(Map.of("Kitchen", 2), index.filter(20.0, 100.0, false, List.of("kitchen")).getCategoryCounts());
+    }
+
+    @Test
+    void shouldPageThroughMatchesInRowOrder() {
+        ProductFacetIndex.Result result = ProductFacetIndex.build(PRODUCTS).filter(null, null, false, null);
+
+        assertArrayEquals(new int[]{1, 2}, result.rows(1, 2));
+        assertArrayEquals(new int[]{4}, result.rows(4, 10));
+        assertEquals(0, result.rows(5, 10).length);
+    }
+
+    /**
+     * ✅ The parallel scan over large catalogs agrees with a plain loop.
+     */
+    @Test
+    void shouldMatchPlainLoopOnLargeCatalog() {
+        String[] categories = {"Audio", "Phones", "Garden", "Toys", "Books"};
+        List<ProductDto> products = new ArrayList<>();
+        for (int i = 0; i < ProductFacetIndex.PARALLEL_THRESHOLD + 12_345; i++) {
+            products.add(new ProductDto((long) i, "p" + i, null, (i * 37 % 100_000) / 100.0, i % 7,
+                    categories[i % categories.length], null));
+        }
+
+        ProductFacetIndex.Result result = ProductFacetIndex.build(products)
+                .filter(100.0, 600.0, true, Set.of("audio", "toys"));
+
+        Map<String, Integer> expectedCounts = new HashMap<>();
+        int expectedTotal = 0;
+        for (ProductDto product : products) {
+            if (product.getPrice() >= 100.0 && product.getPrice() <= 600.0 && product.getStock() > 0) {
+                expectedCounts.merge(product.getCategory(), 1, Integer::sum);
+                if (product.getCategory().equals("Audio") || product.getCategory().equals("Toys")) {
+                    expectedTotal++;
+                }
+            }
+        }
+        assertEquals(expectedTotal, result.getTotal());
+        assertEquals(expectedCounts, result.getCategoryCounts());
+    }
+}
@@ -0,0 +1,103 @@
+package product;
+
+import org.ecom.EcomExpressMain;
+import org.ecom.entity.product.Product;
+import org.ecom.model.product.ProductImportReport;
+import org.ecom.repository.product.ProductRepository;
+import org.ecom.service.product.ProductCatalog;
+import org.ecom.service.product.ProductImportFormat;
+import org.ecom.service.product.ProductImportService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(classes = EcomExpressMain.class, properties = {
+        "spring.datasource.url=jdbc:h2:mem:productimport",
+        "import.products.chunk-size=2"
+})
+class ProductImportServiceTest {
+
+    @Autowired private ProductImportService importService;
+    @Autowired private ProductRepository productRepository;
+    @Autowired private ProductCatalog productCatalog;
+
+    @BeforeEach
+    void setUp() {
+        productRepository.deleteAll();
+    }
+
+    /**
+     * ✅ New SKUs are inserted, known ones updated, bad rows reported without stopping the import.
+     */
+    @Test
+    void shouldUpsertCsvAndReportRejectedRows() throws Exception {
+        productRepository.save(existing("SKU-1", "Old name", 1.0, 1));
+        String csv = """
+                sku,name,description,price,stock,category,image_url
+                SKU-1,Wireless Mouse,"Ergonomic, 2.4GHz",1500,40,Electronics,
+                SKU-2,Laptop,14 inch,50000,5,Electronics,
+                SKU-3,,missing name,10,1,Misc,
+                SKU-4,Kettle,,abc,3,Kitchen,
+                SKU-5,Blender,"Says ""fast""\",80,7,Kitchen,
+                """;
+
+        ProductImportReport report = importService.importProducts(new StringReader(csv), ProductImportFormat.CSV, 0, line -> { });
+
+        assertTrue(report.isCompleted());
+        assertEquals(2, report.getInserted());
+        assertEquals(1, report.getUpdated());
+        assertEquals(List.of(4L, 5L), report.getRejected().stream().map(ProductImportReport.RejectedRow::getLine).toList());
+        assertEquals(6, report.getCheckpointLine());
+
+        Map<String, Product> bySku = productsBySku();
+        assertEquals("Wireless Mouse", bySku.get("SKU-1").getName());
+        assertEquals("Ergonomic, 2.4GHz", bySku.get("SKU-1").getDescription());
+        assertEquals("Says \"fast\"", bySku.get("SKU-5").getDescription());
+        assertEquals(3, bySku.size());
+        assertEquals(3, productCatalog.snapshot().size());
+    }
+
+    /**
+     * ✅ Every committed chunk reports a checkpoint, and resuming skips the lines before it.
+     */
+    @Test
+    void shouldCheckpointChunksAndResume() throws Exception {
+        String ndjson = """
+                {"sku":"A","name":"Tent","price":120,"stock":1,"category":"Outdoors"}
+                {"sku":"B","name":"Lamp","price":30,"stock":2}
+                {"sku":"C","name":"Desk","price":200,"stock":3}
+                """;
+        List<Long> checkpoints = new ArrayList<>();
+
+        ProductImportReport first = importService.importProducts(new StringReader(ndjson), ProductImportFormat.NDJSON, 0, checkpoints::add);
+        assertEquals(List.of(2L, 3L), checkpoints);
+        assertEquals(3, first.getInserted());
+
+        ProductImportReport resumed = importService.importProducts(
+                new StringReader(ndjson.replace("Desk", "Standing desk")), ProductImportFormat.NDJSON, 2, line -> { });
+        assertEquals(0, resumed.getInserted());
+        assertEquals(1, resumed.getUpdated());
+        assertEquals("Standing desk", productsBySku().get("C").getName());
+        assertEquals("Tent", productsBySku().get("A").getName());
+    }
+
+    private Map<String, Product> productsBySku() {
+        return productRepository.findAll().stream().collect(Collectors.toMap(Product::getSku, Function.identity()));
+    }
+
+    private static Product existing(String sku, String name, double price, int stock) {
+        Product product = new Product(null, name, null, price, stock, "Electronics", null);
+        product.setSku(sku);
+        return product;
+    }
+}
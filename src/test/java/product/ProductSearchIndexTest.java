@@ -0,0 +1,112 @@
+package product;
+
+import org.ecom.model.product.ProductDto;
+import org.ecom.model.product.ProductSearchHit;
+import org.ecom.service.product.ProductSearchIndex;
+import org.ecom.service.product.ProductsChangedEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProductSearchIndexTest {
+
+    private ProductSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new ProductSearchIndex();
+        index.rebuild(List.of(
+                new ProductDto(1L, "Wireless Mouse", "Ergonomic, 2.4GHz", 1500.0, 40, "Electronics", null),
+                new ProductDto(2L, "Mouse Pad", "Fits any wireless or wired mouse", 300.0, 100, "Accessories", null),
+                new ProductDto(3L, "Mechanical Keyboard", "Wireless, hot-swappable", 7000.0, 10, "Electronics", null),
+                new ProductDto(4L, "Wireless Charger", "Qi pad for phones", 2000.0, 25, "Electronics", null)
+        ));
+    }
+
+    /**
+     * ✅ Every word must match; a name match outranks a description match.
+     */
+    @Test
+    void shouldRankNameMatchesFirst() {
+        List<ProductSearchHit> hits = index.search("wireless mouse", null, null, null, 10);
+
+        assertEquals(List.of(1L, 2L), ids(hits));
+        assertTrue(hits.get(0).getScore() > hits.get(1).getScore());
+    }
+
+    /**
+     * ✅ The last word is a prefix, so partially typed queries already match.
+     */
+    @Test
+    void shouldMatchLastWordAsPrefix() {
+        assertEquals(List.of(3L), ids(index.search("mechanical keyb", null, null, null, 10)));
+        assertEquals(List.of(4L), ids(index.search("wireless char", null, null, null, 10)));
+    }
+
+    /**
+     * ✅ Category and price range narrow the hits.
+     */
+    @Test
+    void shouldApplyCategoryAndPriceFilters() {
+        assertEquals(List.of(1L, 4L, 3L), ids(index.search("wireless", "electronics", null, null, 10)));
+        assertEquals(List.of(1L, 4L), ids(index.search("wireless", "Electronics", 1000.0, 2500.0, 10)));
+        assertTrue(index.search("wireless", "Garden", null, null, 10).isEmpty());
+    }
+
+    /**
+     * ✅ A product without a price is found unless a price bound is given.
+     */
+    @Test
+    void shouldFindUnpricedProductsWithoutPriceFilter() {
+        index.upsert(List.of(new ProductDto(5L, "Wireless Headset", null, null, 3, "Audio", null)));
+
+        assertEquals(List.of(5L), ids(index.search("headset", null, null, null, 10)));
+        assertTrue(index.search("headset", null, 0.0, null, 10).isEmpty());
+        assertTrue(index.search("headset", null, null, 100.0, 10).isEmpty());
+    }
+
+    /**
+     * ✅ Changes are applied incrementally from product events.
+     */
+    @Test
+    void shouldApplyProductChanges() {
+        index.onProductsChanged(ProductsChangedEvent.upserted(
+                new ProductDto(4L, "Desk Lamp", "Warm light", 900.0, 5, "Home", null)));
+        index.onProductsChanged(ProductsChangedEvent.removed(1L));
+
+        assertEquals(List.of(4L), ids(index.search("lamp", null, null, null, 10)));
+        assertTrue(index.search("charger", null, null, null, 10).isEmpty());
+        assertEquals(List.of(2L), ids(index.search("mouse", null, null, null, 10)));
+        assertEquals(3, index.size());
+    }
+
+    /**
+     * ✅ Repeated edits do not pile up: superseded entries are compacted away and results stay the same.
+     */
+    @Test
+    void shouldCompactSupersededEntries() {
+        for (int i = 0; i < 1500; i++) {
+            index.upsert(List.of(new ProductDto(1L, "Wireless Mouse", "Ergonomic, 2.4GHz", 1500.0 + i, 40,
+                    "Electronics", null)));
+        }
+
+        assertTrue(index.tombstones() < 1000, () -> "tombstones: " + index.tombstones());
+        assertEquals(4, index.size());
+        assertEquals(List.of(1L, 2L), ids(index.search("wireless mouse", null, null, null, 10)));
+        assertEquals(List.of(1L, 4L, 3L), ids(index.search("wireless", "Electronics", 1900.0, 8000.0, 10)));
+        assertEquals(2999.0, index.search("mouse", "Electronics", null, null, 10).get(0).getPrice());
+    }
+
+    @Test
+    void shouldReturnNothingForBlankOrUnknownQueries() {
+        assertTrue(index.search("  ", null, null, null, 10).isEmpty());
+        assertTrue(index.search("wireless toaster", null, null, null, 10).isEmpty());
+    }
+
+    private static List<Long> ids(List<ProductSearchHit> hits) {
+        return hits.stream().map(ProductSearchHit::getId).toList();
+    }
+}
@@ -0,0 +1,117 @@
+package product;
+
+import org.ecom.EcomExpressMain;
+import org.ecom.entity.product.Product;
+import org.ecom.repository.product.ProductRepository;
+import org.ecom.service.product.ProductImportFormat;
+import org.ecom.service.product.ProductImportService;
+import org.ecom.service.product.ProductSecondLevelCache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+import support.SqlStatementCounter;
+
+import java.io.StringReader;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(classes = EcomExpressMain.class, properties = {
+        "spring.datasource.url=jdbc:h2:mem:productcache",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=support.SqlStatementCounter"
+})
+class ProductSecondLevelCacheTest {
+
+    @Autowired private ProductRepository productRepository;
+    @Autowired private ProductSecondLevelCache productCache;
+    @Autowired private ProductImportService importService;
+    @Autowired private TransactionTemplate transactionTemplate;
+
+    private Product mouse;
+    private Product keyboard;
+
+    @BeforeEach
+    void setUp() {
+        productRepository.deleteAll();
+        mouse = productRepository.save(product("SKU-M", "Mouse", 20.0, 10));
+        keyboard = productRepository.save(product("SKU-K", "Keyboard", 45.0, 10));
+        productCache.evictAll();
+    }
+
+    /**
+     * ✅ Once read, checkout lookups by id are served without a query.
+     */
+    @Test
+    void findAllById_SecondRead_IssuesNoQuery() throws Exception {
+        List<Long> ids = List.of(mouse.getId(), keyboard.getId());
+
+        SqlStatementCounter.assertQueries(1, () -> assertEquals(2, productRepository.findAllById(ids).size()));
+        SqlStatementCounter.assertQueries(0, () -> assertEquals(2, productRepository.findAllById(ids).size()));
+        assertTrue(productCache.stats().getHitCount() >= 2);
+    }
+
+    /**
+     * ✅ A stock reservation invalidates only its own product, and the next read sees the new stock.
+     */
+    @Test
+    void decrementStock_EvictsOnlyThatProduct() throws Exception {
+        List<Long> ids = List.of(mouse.getId(), keyboard.getId());
+        productRepository.findAllById(ids);
+
+        transactionTemplate.executeWithoutResult(status ->
+                assertEquals(1, productRepository.decrementStock(mouse.getId(), 3)));
+
+        SqlStatementCounter.assertQueries(1, () -> {
+            List<Product> products = productRepository.findAllById(ids);
+            assertEquals(7, stockOf(products, mouse.getId()));
+            assertEquals(10, stockOf(products, keyboard.getId()));
+        });
+        SqlStatementCounter.assertQueries(0, () -> productRepository.findAllById(ids));
+    }
+
+    /**
+     * ✅ A rolled-back reservation leaves the stock, cached or not, as it was.
+     */
+    @Test
+    void decrementStock_RolledBack_StockUnchanged() {
+        productRepository.findAllById(List.of(mouse.getId()));
+
+        transactionTemplate.executeWithoutResult(status -> {
+            productRepository.decrementStock(mouse.getId(), 3);
+            status.setRollbackOnly();
+        });
+
+        assertEquals(10, productRepository.findAllById(List.of(mouse.getId())).get(0).getStock());
+    }
+
+    /**
+     * ✅ Price and stock written by the JDBC import are not hidden behind cached entries.
+     */
+    @Test
+    void import_EvictsCachedProducts() throws Exception {
+        productRepository.findAllById(List.of(mouse.getId()));
+
+        String csv = """
+                sku,name,price,stock
+                SKU-M,Mouse,25,4
+                """;
+        assertTrue(importService.importProducts(new StringReader(csv), ProductImportFormat.CSV, 0, line -> { })
+                .isCompleted());
+
+        Product reloaded = productRepository.findAllById(List.of(mouse.getId())).get(0);
+        assertEquals(25.0, reloaded.getPrice());
+        assertEquals(4, reloaded.getStock());
+    }
+
+    private static int stockOf(List<Product> products, Long id) {
+        return products.stream().filter(p -> p.getId().equals(id)).findFirst().orElseThrow().getStock();
+    }
+
+    private static Product product(String sku, String name, double price, int stock) {
+        Product product = new Product(null, name, null, price, stock, "Electronics", null);
+        product.setSku(sku);
+        return product;
+    }
+}
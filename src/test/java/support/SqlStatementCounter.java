@@ -0,0 +1,57 @@
+package support;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Records every SQL statement Hibernate prepares on the current thread, so tests can assert how many
+ * queries an endpoint issues and catch N+1 regressions.
+ * <p>
+ * Register it with {@code spring.jpa.properties.hibernate.session_factory.statement_inspector=support.SqlStatementCounter}.
+ */
+public class SqlStatementCounter implements StatementInspector {
+
+    private static final ThreadLocal<List<String>> STATEMENTS = ThreadLocal.withInitial(ArrayList::new);
+
+    @Override
+    public String inspect(String sql) {
+        STATEMENTS.get().add(sql);
+        return sql;
+    }
+
+    public static void reset() {
+        STATEMENTS.get().clear();
+    }
+
+    public static List<String> statements() {
+        return List.copyOf(STATEMENTS.get());
+    }
+
+    public static long count(String verb) {
+        String prefix = verb.toLowerCase(Locale.ROOT);
+        return STATEMENTS.get().stream()
+                .filter(sql -> sql.stripLeading().toLowerCase(Locale.ROOT).startsWith(prefix))
+                .count();
+    }
+
+    /**
+     * Runs {@code action} and asserts it issued exactly {@code expectedSelects} SELECTs and no DML.
+     */
+    public static void assertQueries(int expectedSelects, ThrowingRunnable action) throws Exception {
+        reset();
+        action.run();
+        List<String> issued = statements();
+        assertEquals(expectedSelects, count("select"), () -> "Unexpected SELECT count, statements: " + issued);
+        assertEquals(0, count("insert") + count("update") + count("delete"), () -> "Unexpected DML: " + issued);
+    }
+
+    @FunctionalInterface
+    public interface ThrowingRunnable {
+        void run() throws Exception;
+    }
+}